@@ -0,0 +1,84 @@
+package com.gotinite.course_management.benchmarks;
+
+import com.gotinite.course_management.CourseManagementApplication;
+import com.gotinite.course_management.search.NameSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    @Param({"10000"})
+    public int students;
+
+    // each course has about twice this many enrollments, and each teacher five courses' worth of grades
+    @Param({"200"})
+    public int studentsPerCourse;
+
+    private ConfigurableApplicationContext context;
+    private DataSeeder seeder;
+    private TransactionTemplate rollbackTemplate;
+    private TransactionTemplate readOnlyTemplate;
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CourseManagementApplication.class)
+                .profiles("benchmark")
+                .run();
+        seeder = new DataSeeder(context.getBean(JdbcTemplate.class), students, studentsPerCourse);
+        seeder.seed();
+        // the seed bypasses JPA, so the name index built at startup is empty
+        context.getBean(NameSearchIndex.class).build();
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        rollbackTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+        entityManager = context.getBean(EntityManager.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public DataSeeder data() {
+        return seeder;
+    }
+
+    public int randomStudent() {
+        return ThreadLocalRandom.current().nextInt(students);
+    }
+
+    public int randomCourse() {
+        return ThreadLocalRandom.current().nextInt(seeder.courses());
+    }
+
+    // write paths are flushed, so the statements a commit would run are measured, then rolled back
+    // so every invocation runs against the seeded data set
+    public <T> T rolledBack(Supplier<T> work) {
+        return rollbackTemplate.execute(status -> {
+            T result = work.get();
+            entityManager.flush();
+            status.setRollbackOnly();
+            return result;
+        });
+    }
+
+    public <T> T readOnly(Supplier<T> work) {
+        return readOnlyTemplate.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,134 @@
+package com.gotinite.course_management.benchmarks;
+
+import com.gotinite.course_management.models.CourseStatus;
+import com.gotinite.course_management.models.EnrollmentStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Seeds a deterministic data set: student {@code i} is enrolled in courses {@code i % C} and
+ * {@code (i + 1) % C} and graded in course {@code i % C} by that course's teacher.
+ */
+public class DataSeeder {
+
+    private static final int CHUNK_SIZE = 10_000;
+    private static final int COURSES_PER_TEACHER = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int students;
+    private final int courses;
+    private final int teachers;
+
+    public DataSeeder(JdbcTemplate jdbcTemplate, int students, int studentsPerCourse) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.students = students;
+        this.courses = Math.max(10, students / studentsPerCourse);
+        this.teachers = Math.max(2, courses / COURSES_PER_TEACHER);
+    }
+
+    public int courses() {
+        return courses;
+    }
+
+    public String studentEmail(int i) {
+        return "student" + i + "@example.com";
+    }
+
+    public String teacherEmail(int t) {
+        return "teacher" + t + "@example.com";
+    }
+
+    public String courseName(int c) {
+        return "Course " + c;
+    }
+
+    public int teacherOf(int course) {
+        return course % teachers;
+    }
+
+    public void seed() {
+        insert("INSERT INTO teachers (id, first_name, last_name, email) VALUES (?, ?, ?, ?)", teachers, (ps, t) -> {
+            ps.setLong(1, t + 1);
+            ps.setString(2, "Teacher");
+            ps.setString(3, "No" + t);
+            ps.setString(4, teacherEmail(t));
+        });
+        insert("INSERT INTO courses (id, name, status, teacher_id) VALUES (?, ?, ?, ?)", courses, (ps, c) -> {
+            ps.setLong(1, c + 1);
+            ps.setString(2, courseName(c));
+            ps.setShort(3, CourseStatus.ACTIVE.code());
+            ps.setLong(4, teacherOf(c) + 1);
+        });
+        insert("INSERT INTO students (id, first_name, last_name, email) VALUES (?, ?, ?, ?)", students, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setString(2, "Student");
+            ps.setString(3, "No" + i);
+            ps.setString(4, studentEmail(i));
+        });
+        insert("INSERT INTO enrollments (id, status, course_id, student_id) VALUES (?, ?, ?, ?)", students * 2, (ps, n) -> {
+            int i = n / 2;
+            ps.setLong(1, n + 1);
+            ps.setShort(2, EnrollmentStatus.ACTIVE.code());
+            ps.setLong(3, (i + n % 2) % courses + 1);
+            ps.setLong(4, i + 1);
+        });
+        jdbcTemplate.update("UPDATE courses SET seats_taken = " +
+                "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = courses.id)");
+        jdbcTemplate.update("INSERT INTO course_enrollment_stats (course_id, active_count, completed_count, " +
+                "successful_count, unsuccessful_count) " +
+                "SELECT c.id, COUNT(e.id), 0, 0, 0 FROM courses c LEFT JOIN enrollments e ON e.course_id = c.id GROUP BY c.id");
+        insert("INSERT INTO grades (id, grade_value, student_id, course_id, teacher_id) VALUES (?, ?, ?, ?, ?)", students, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setDouble(2, 2 + i % 5);
+            ps.setLong(3, i + 1);
+            ps.setLong(4, i % courses + 1);
+            ps.setLong(5, teacherOf(i % courses) + 1);
+        });
+        jdbcTemplate.update("INSERT INTO course_grade_stats (course_id, grade_count, grade_sum, grade_sum_of_squares, " +
+                "min_grade, max_grade, grades_2, grades_3, grades_4, grades_5, grades_6) " +
+                "SELECT c.id, COUNT(g.id), COALESCE(SUM(g.grade_value), 0), " +
+                "COALESCE(SUM(g.grade_value * g.grade_value), 0), MIN(g.grade_value), MAX(g.grade_value), " +
+                "SUM(CASE WHEN g.grade_value < 3 THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN g.grade_value >= 3 AND g.grade_value < 4 THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN g.grade_value >= 4 AND g.grade_value < 5 THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN g.grade_value >= 5 AND g.grade_value < 6 THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN g.grade_value >= 6 THEN 1 ELSE 0 END) " +
+                "FROM courses c LEFT JOIN grades g ON g.course_id = c.id GROUP BY c.id");
+
+        restartSequence("teachers_seq", teachers);
+        restartSequence("courses_seq", courses);
+        restartSequence("students_seq", students);
+        restartSequence("enrollments_seq", students * 2);
+        restartSequence("grades_seq", students);
+    }
+
+    private void restartSequence(String sequence, int seededRows) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (seededRows + 1));
+    }
+
+    private void insert(String sql, int rows, RowSetter setter) {
+        for (int from = 0; from < rows; from += CHUNK_SIZE) {
+            int offset = from;
+            int size = Math.min(CHUNK_SIZE, rows - from);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    setter.set(ps, offset + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int row) throws SQLException;
+    }
+}
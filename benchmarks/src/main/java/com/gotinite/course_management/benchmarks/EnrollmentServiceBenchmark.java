@@ -0,0 +1,26 @@
+package com.gotinite.course_management.benchmarks;
+
+import com.gotinite.course_management.models.Enrollment;
+import com.gotinite.course_management.services.EnrollmentService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrollmentServiceBenchmark {
+
+    @Benchmark
+    public Enrollment enrollStudentToCourse(ApplicationState state) {
+        EnrollmentService enrollmentService = state.bean(EnrollmentService.class);
+        DataSeeder data = state.data();
+        int student = state.randomStudent();
+        // seeded enrollments cover i % C and (i + 1) % C only
+        int course = (student + 2) % data.courses();
+        return state.rolledBack(() -> enrollmentService.enrollStudentToCourse(
+                data.courseName(course), data.studentEmail(student)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.gotinite.course_management.benchmarks;
+
+import com.gotinite.course_management.dtos.BulkGradeDto;
+import com.gotinite.course_management.dtos.GradeEntryDto;
+import com.gotinite.course_management.dtos.GradeResult;
+import com.gotinite.course_management.dtos.GradeView;
+import com.gotinite.course_management.services.GradeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradeServiceBenchmark {
+
+    @Benchmark
+    public GradeView addGrade(ApplicationState state) {
+        GradeService gradeService = state.bean(GradeService.class);
+        DataSeeder data = state.data();
+        int student = state.randomStudent();
+        // the student is enrolled in (i + 1) % C but only graded in i % C
+        int course = (student + 1) % data.courses();
+        return state.rolledBack(() -> gradeService.addGrade(
+                data.studentEmail(student), data.courseName(course),
+                data.teacherEmail(data.teacherOf(course)), 5.0));
+    }
+
+    @Benchmark
+    public List<GradeResult> addGradesForCourse(ApplicationState state) {
+        GradeService gradeService = state.bean(GradeService.class);
+        DataSeeder data = state.data();
+        int course = state.randomCourse();
+        // every student i with (i + 1) % C == course is enrolled there without a grade
+        List<GradeEntryDto> grades = new ArrayList<>();
+        for (int i = (course + data.courses() - 1) % data.courses(); i < state.students; i += data.courses()) {
+            grades.add(new GradeEntryDto(data.studentEmail(i), 5.0));
+        }
+        BulkGradeDto dto = new BulkGradeDto(data.courseName(course), data.teacherEmail(data.teacherOf(course)), grades);
+        return state.rolledBack(() -> gradeService.addGrades(dto));
+    }
+}
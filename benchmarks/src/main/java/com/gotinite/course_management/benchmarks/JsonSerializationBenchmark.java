@@ -0,0 +1,62 @@
+package com.gotinite.course_management.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotinite.course_management.controllers.CourseController;
+import com.gotinite.course_management.controllers.StudentController;
+import com.gotinite.course_management.services.AggregateService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the bodies returned by the controllers, inside a read-only transaction
+ * the way open-session-in-view exposes them to Jackson.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Benchmark
+    public byte[] studentsPage(ApplicationState state) {
+        ObjectMapper objectMapper = state.bean(ObjectMapper.class);
+        StudentController studentController = state.bean(StudentController.class);
+        return state.readOnly(() -> write(objectMapper, studentController.fetchStudents(1, 10, null, "id", false).getBody()));
+    }
+
+    @Benchmark
+    public byte[] courseStudents(ApplicationState state) {
+        ObjectMapper objectMapper = state.bean(ObjectMapper.class);
+        CourseController courseController = state.bean(CourseController.class);
+        String course = state.data().courseName(state.randomCourse());
+        return state.readOnly(() -> write(objectMapper, courseController.getStudents(course).getBody()));
+    }
+
+    @Benchmark
+    public byte[] courseGrades(ApplicationState state) {
+        ObjectMapper objectMapper = state.bean(ObjectMapper.class);
+        CourseController courseController = state.bean(CourseController.class);
+        String course = state.data().courseName(state.randomCourse());
+        return state.readOnly(() -> write(objectMapper, courseController.getGrades(course).getBody()));
+    }
+
+    @Benchmark
+    public int streamedStudentsAndCourses(ApplicationState state) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        state.bean(AggregateService.class).writeStudentsAndCourses(out, 500);
+        return out.size();
+    }
+
+    private static byte[] write(ObjectMapper objectMapper, Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.gotinite.course_management.benchmarks;
+
+import com.gotinite.course_management.dtos.KeysetCursor;
+import com.gotinite.course_management.dtos.KeysetPage;
+import com.gotinite.course_management.dtos.StudentView;
+import com.gotinite.course_management.services.StudentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentServiceBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Benchmark
+    public List<StudentView> getStudentsByCourse(ApplicationState state) {
+        StudentService studentService = state.bean(StudentService.class);
+        String course = state.data().courseName(state.randomCourse());
+        return state.readOnly(() -> studentService.getStudentsByCourse(course));
+    }
+
+    @Benchmark
+    public Page<StudentView> getAllStudentsFirstPage(ApplicationState state) {
+        return state.bean(StudentService.class).getAllStudents(PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<StudentView> getAllStudentsRandomPage(ApplicationState state) {
+        int page = ThreadLocalRandom.current().nextInt(state.students / PAGE_SIZE);
+        return state.bean(StudentService.class).getAllStudents(PageRequest.of(page, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public KeysetPage<StudentView> getStudentsAfterRandomCursor(ApplicationState state) {
+        String cursor = new KeysetCursor((long) state.randomStudent(), null).encode();
+        return state.bean(StudentService.class).getStudentsAfter(cursor, PAGE_SIZE, "id");
+    }
+
+    @Benchmark
+    public List<StudentView> getStudentsByFuzzyName(ApplicationState state) {
+        String misspelled = "Studnt No" + state.randomStudent();
+        return state.bean(StudentService.class).getStudentsByFuzzyName(misspelled, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<StudentView> getStudentsByNamePrefix(ApplicationState state) {
+        String prefix = "student no" + state.randomStudent();
+        return state.bean(StudentService.class).getStudentsByNamePrefix(prefix, PAGE_SIZE);
+    }
+}
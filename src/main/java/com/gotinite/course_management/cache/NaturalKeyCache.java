@@ -0,0 +1,102 @@
+package com.gotinite.course_management.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gotinite.course_management.repositories.CourseRepository;
+import com.gotinite.course_management.repositories.StudentRepository;
+import com.gotinite.course_management.repositories.TeacherRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Resolves student/teacher emails and course names to ids without loading the entities.
+ * Misses are never cached, so only renames need to evict entries.
+ */
+@Component
+public class NaturalKeyCache implements MeterBinder {
+
+    private final Cache<String, Long> studentIds;
+    private final Cache<String, Long> teacherIds;
+    private final Cache<String, Long> courseIds;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+
+    public NaturalKeyCache(StudentRepository studentRepository,
+                           TeacherRepository teacherRepository,
+                           CourseRepository courseRepository,
+                           @Value("${cache.natural-keys.maximum-size:100000}") long maximumSize) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.courseRepository = courseRepository;
+        this.studentIds = newCache(maximumSize);
+        this.teacherIds = newCache(maximumSize);
+        this.courseIds = newCache(maximumSize);
+    }
+
+    public Optional<Long> studentId(String email) {
+        return resolve(studentIds, email, key -> studentRepository.findIdByEmail(key).orElse(null));
+    }
+
+    public Optional<Long> teacherId(String email) {
+        return resolve(teacherIds, email, key -> teacherRepository.findIdByEmail(key).orElse(null));
+    }
+
+    public Optional<Long> courseId(String name) {
+        return resolve(courseIds, name, key -> courseRepository.findIdByName(key).orElse(null));
+    }
+
+    public void evictStudent(String email) {
+        evict(studentIds, email);
+    }
+
+    public void evictTeacher(String email) {
+        evict(teacherIds, email);
+    }
+
+    public void evictCourse(String name) {
+        evict(courseIds, name);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, studentIds, "natural-keys.students");
+        CaffeineCacheMetrics.monitor(registry, teacherIds, "natural-keys.teachers");
+        CaffeineCacheMetrics.monitor(registry, courseIds, "natural-keys.courses");
+    }
+
+    private static Cache<String, Long> newCache(long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    private static Optional<Long> resolve(Cache<String, Long> cache, String key,
+                                          Function<String, Long> loader) {
+        if (key == null) return Optional.empty();
+        return Optional.ofNullable(cache.get(key, loader));
+    }
+
+    private static void evict(Cache<String, Long> cache, String key) {
+        if (key == null) return;
+        cache.invalidate(key);
+        // A concurrent reader may re-cache the old key before the rename commits.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.gotinite.course_management.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gotinite.course_management.dtos.TranscriptView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Computed transcripts by student id. GradeService evicts a student whenever one of their grades
+ * is added or changed; the expiry only bounds a transcript read while such a change was committing.
+ */
+@Component
+public class TranscriptCache implements MeterBinder {
+
+    private final Cache<Long, TranscriptView> transcripts;
+
+    public TranscriptCache(@Value("${cache.transcripts.maximum-size:100000}") long maximumSize,
+                           @Value("${cache.transcripts.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.transcripts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public TranscriptView get(Long studentId, Function<Long, TranscriptView> loader) {
+        return transcripts.get(studentId, loader);
+    }
+
+    public Map<Long, TranscriptView> getAll(Collection<Long> studentIds,
+                                            Function<Set<? extends Long>, Map<Long, TranscriptView>> loader) {
+        return transcripts.getAll(studentIds, loader);
+    }
+
+    public void evictStudent(Long studentId) {
+        if (studentId == null) return;
+        evictStudents(List.of(studentId));
+    }
+
+    public void evictStudents(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) return;
+        transcripts.invalidateAll(studentIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> ids = List.copyOf(studentIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    transcripts.invalidateAll(ids);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        transcripts.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    transcripts.invalidateAll();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, transcripts, "transcripts");
+    }
+}
@@ -1,16 +1,21 @@
 package com.gotinite.course_management.controllers;
 
-import com.gotinite.course_management.dtos.CourseDto;
+import com.gotinite.course_management.dtos.*;
 import com.gotinite.course_management.models.*;
 import com.gotinite.course_management.services.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,14 +28,35 @@ public class CourseController {
     private final StudentService studentService;
     private final TeacherService teacherService;
     private final EnrollmentService enrollmentService;
+    private final ExportService exportService;
+    private final TranscriptService transcriptService;
 
     @GetMapping("/page/courses")
     public ResponseEntity<Map<String, Object>> fetchCourses(
             @RequestParam(required = false, defaultValue = "1") int currentPage,
-            @RequestParam(required = false, defaultValue = "10") int perPage
+            @RequestParam(required = false, defaultValue = "10") int perPage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean approximateCount
     ) {
+        if (cursor != null) {
+            try {
+                KeysetPage<CourseView> page = courseService.getCoursesAfter(cursor, perPage, "id");
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("courses", page.content());
+                response.put("nextCursor", page.nextCursor());
+                if (approximateCount) {
+                    response.put("approximateTotalElements", courseService.getApproximateCourseCount());
+                }
+                return new ResponseEntity<>(response, HttpStatus.OK);
+            } catch (IllegalArgumentException exception) {
+                return new ResponseEntity<>(
+                        Map.of("error", exception.getMessage()),
+                        HttpStatus.BAD_REQUEST);
+            }
+        }
+
         Pageable pageable = PageRequest.of(currentPage - 1, perPage);
-        Page<Course> page = courseService.getAllCourses(pageable);
+        Page<CourseView> page = courseService.getAllCourses(pageable);
         Map<String, Object> response = Map.of(
                 "courses", page.getContent(),
                 "totalPages", page.getTotalPages(),
@@ -40,9 +66,9 @@ public class CourseController {
     }
 
     @GetMapping("/course/by-status")
-    public ResponseEntity<List<Course>> getCoursesByStatus(@RequestParam String status) {
+    public ResponseEntity<List<CourseView>> getCoursesByStatus(@RequestParam String status) {
         try {
-            List<Course> courses = courseService.getCoursesByStatus(status);
+            List<CourseView> courses = courseService.getCoursesByStatus(status);
             return new ResponseEntity<>(courses, HttpStatus.OK);
         } catch (IllegalArgumentException exception) {
             return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
@@ -50,9 +76,9 @@ public class CourseController {
     }
 
     @GetMapping("/course/enrollments")
-    public ResponseEntity<List<Enrollment>> getEnrollments(@RequestParam String name) {
+    public ResponseEntity<List<EnrollmentView>> getEnrollments(@RequestParam String name) {
         try {
-            List<Enrollment> enrollments = enrollmentService.getEnrollmentsByCourse(name);
+            List<EnrollmentView> enrollments = enrollmentService.getEnrollmentsByCourse(name);
             return new ResponseEntity<>(enrollments, HttpStatus.OK);
         } catch (IllegalArgumentException exception) {
             return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
@@ -60,9 +86,9 @@ public class CourseController {
     }
 
     @GetMapping("/course/students")
-    public ResponseEntity<List<Student>> getStudents(@RequestParam String name) {
+    public ResponseEntity<List<StudentView>> getStudents(@RequestParam String name) {
         try {
-            List<Student> students = studentService.getStudentsByCourse(name);
+            List<StudentView> students = studentService.getStudentsByCourse(name);
             return new ResponseEntity<>(students, HttpStatus.OK);
         } catch (IllegalArgumentException exception) {
             return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
@@ -70,19 +96,93 @@ public class CourseController {
     }
 
     @GetMapping("/course/grades")
-    public ResponseEntity<List<Grade>> getGrades(@RequestParam String name) {
+    public ResponseEntity<List<GradeView>> getGrades(@RequestParam String name) {
         try {
-            List<Grade> grades = gradeService.getByCourse(name);
+            List<GradeView> grades = gradeService.getByCourse(name);
             return new ResponseEntity<>(grades, HttpStatus.OK);
         } catch (IllegalArgumentException exception) {
             return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
         }
     }
 
+    @GetMapping("/course/grade-stats")
+    public ResponseEntity<List<CourseGradeStatsView>> getGradeStats(@RequestParam(required = false) String name) {
+        if (name == null) {
+            return new ResponseEntity<>(gradeService.getStatsForAllCourses(), HttpStatus.OK);
+        }
+        try {
+            CourseGradeStatsView stats = gradeService.getStatsByCourse(name)
+                    .orElseThrow(() -> new IllegalArgumentException("Grade statistics not found!"));
+            return new ResponseEntity<>(List.of(stats), HttpStatus.OK);
+        } catch (IllegalArgumentException exception) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @GetMapping("/course/enrollment-stats")
+    public ResponseEntity<CourseEnrollmentStatsView> getEnrollmentStats(@RequestParam String name) {
+        try {
+            CourseEnrollmentStatsView stats = enrollmentService.getStatsByCourse(name)
+                    .orElseThrow(() -> new IllegalArgumentException("Enrollment statistics not found!"));
+            return new ResponseEntity<>(stats, HttpStatus.OK);
+        } catch (IllegalArgumentException exception) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @GetMapping("/course/transcripts")
+    public ResponseEntity<Map<String, TranscriptView>> getCourseTranscripts(@RequestParam String name) {
+        try {
+            return new ResponseEntity<>(transcriptService.getByCourse(name), HttpStatus.OK);
+        } catch (IllegalArgumentException exception) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @GetMapping("/export/grades")
+    public ResponseEntity<StreamingResponseBody> exportGrades(
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String courseName,
+            @RequestParam(required = false) String teacherEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        try {
+            ExportFormat exportFormat = ExportFormat.of(format);
+            ExportFilter filter = exportService.filter(courseName, teacherEmail, from, to);
+            StreamingResponseBody body = out -> exportService.writeGrades(filter, exportFormat, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                    .body(body);
+        } catch (IllegalArgumentException exception) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/export/enrollments")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String courseName,
+            @RequestParam(required = false) String teacherEmail,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        try {
+            ExportFormat exportFormat = ExportFormat.of(format);
+            ExportFilter filter = exportService.filter(courseName, teacherEmail, from, to);
+            StreamingResponseBody body = out -> exportService.writeEnrollments(filter, exportFormat, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                    .body(body);
+        } catch (IllegalArgumentException exception) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping("/course/teacher")
-    public ResponseEntity<Teacher> getTeacher(@RequestParam String name) {
+    public ResponseEntity<TeacherView> getTeacher(@RequestParam String name) {
         try {
-            Teacher teacher = teacherService.getTeacherByCourse(name)
+            TeacherView teacher = teacherService.getTeacherByCourse(name)
                     .orElseThrow(() -> new IllegalArgumentException("Teacher not found!"));
             return new ResponseEntity<>(teacher, HttpStatus.OK);
         } catch (IllegalArgumentException exception) {
@@ -105,6 +205,36 @@ public class CourseController {
         }
     }
 
+    @PutMapping("/update/course-capacity")
+    public ResponseEntity<?> updateCourseCapacity(
+            @RequestParam(required = false) Integer capacity,
+            @RequestBody CourseDto dto
+    ) {
+        try {
+            courseService.updateCourseCapacity(capacity, dto);
+            return new ResponseEntity<>(null, HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException exception) {
+            return new ResponseEntity<>(
+                    Map.of("error", exception.getMessage()),
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PutMapping("/update/course-credits")
+    public ResponseEntity<?> updateCourseCredits(
+            @RequestParam Integer credits,
+            @RequestBody CourseDto dto
+    ) {
+        try {
+            courseService.updateCourseCredits(credits, dto);
+            return new ResponseEntity<>(null, HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException exception) {
+            return new ResponseEntity<>(
+                    Map.of("error", exception.getMessage()),
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PutMapping("/update/course-name")
     public ResponseEntity<?> updateCourseName(
             @RequestParam String name,
@@ -1,26 +1,29 @@
 package com.gotinite.course_management.controllers;
 
-import com.gotinite.course_management.dtos.StudentDto;
-import com.gotinite.course_management.models.Course;
+import com.gotinite.course_management.dtos.*;
 import com.gotinite.course_management.models.Enrollment;
-import com.gotinite.course_management.models.Grade;
 import com.gotinite.course_management.models.Student;
+import com.gotinite.course_management.services.AggregateService;
 import com.gotinite.course_management.services.CourseService;
 import com.gotinite.course_management.services.EnrollmentService;
 import com.gotinite.course_management.services.GradeService;
+import com.gotinite.course_management.services.ImportService;
 import com.gotinite.course_management.services.StudentService;
+import com.gotinite.course_management.services.TranscriptService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 
 @RestController
 @RequiredArgsConstructor
@@ -30,14 +33,37 @@ public class StudentController {
     private final StudentService studentService;
     private final GradeService gradeService;
     private final EnrollmentService enrollmentService;
+    private final AggregateService aggregateService;
+    private final ImportService importService;
+    private final TranscriptService transcriptService;
 
     @GetMapping("/page/students")
     public ResponseEntity<Map<String, Object>> fetchStudents(
             @RequestParam(required = false, defaultValue = "1") int currentPage,
-            @RequestParam(required = false, defaultValue = "10") int perPage
+            @RequestParam(required = false, defaultValue = "10") int perPage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "id") String sort,
+            @RequestParam(required = false, defaultValue = "false") boolean approximateCount
     ) {
+        if (cursor != null) {
+            try {
+                KeysetPage<StudentView> page = studentService.getStudentsAfter(cursor, perPage, sort);
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("students", page.content());
+                response.put("nextCursor", page.nextCursor());
+                if (approximateCount) {
+                    response.put("approximateTotalElements", studentService.getApproximateStudentCount());
+                }
+                return new ResponseEntity<>(response, HttpStatus.OK);
+            } catch (IllegalArgumentException exception) {
+                return new ResponseEntity<>(
+                        Map.of("error", exception.getMessage()),
+                        HttpStatus.BAD_REQUEST);
+            }
+        }
+
         Pageable pageable = PageRequest.of(currentPage - 1, perPage);
-        Page<Student> page = studentService.getAllStudents(pageable);
+        Page<StudentView> page = studentService.getAllStudents(pageable);
         Map<String, Object> response =Map.of(
                 "students", page.getContent(),
                 "totalPages", page.getTotalPages(),
@@ -47,25 +73,21 @@ public class StudentController {
     }
 
     @GetMapping("/fetch/async")
-    public Map<String, ?> fetchAsync() throws ExecutionException, InterruptedException {
-        System.out.println("\u001B[35m" + " " + Thread.currentThread().getName());
-        CompletableFuture<List<Student>> studentsFuture = CompletableFuture.supplyAsync(studentService::getAllStudents);
-        CompletableFuture<List<Course>> coursesFuture = CompletableFuture.supplyAsync(courseService::getAllCourses);
-
-        return CompletableFuture.allOf(studentsFuture, coursesFuture).thenApply(r ->
-                Map.of(
-                        "students", studentsFuture.join(),
-                        "courses", coursesFuture.join()
-                )
-        ).get();
+    public ResponseEntity<StreamingResponseBody> fetchAsync(
+            @RequestParam(required = false, defaultValue = "500") int pageSize) {
+        StreamingResponseBody body = out -> aggregateService.writeStudentsAndCourses(out, pageSize);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @GetMapping("/student/search")
-    public ResponseEntity<List<Student>> searchStudents(
+    public ResponseEntity<List<StudentView>> searchStudents(
             @RequestParam String value,
-            @RequestParam String type
+            @RequestParam String type,
+            @RequestParam(required = false, defaultValue = "10") int limit
     ) {
-        List<Student> students;
+        List<StudentView> students;
 
         switch (type.toLowerCase()) {
             case "firstname":
@@ -77,6 +99,20 @@ public class StudentController {
             case "fullname":
                 students = studentService.getStudentByFullName(value);
                 break;
+            case "prefix":
+                try {
+                    students = studentService.getStudentsByNamePrefix(value, limit);
+                } catch (IllegalArgumentException exception) {
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+                break;
+            case "fuzzy":
+                try {
+                    students = studentService.getStudentsByFuzzyName(value, limit);
+                } catch (IllegalArgumentException exception) {
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+                break;
             default:
                 return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
@@ -85,16 +121,16 @@ public class StudentController {
     }
 
     @GetMapping("/student/enrollments")
-    public ResponseEntity<List<Enrollment>> getStudentEnrollments(
+    public ResponseEntity<List<EnrollmentView>> getStudentEnrollments(
             @RequestParam String email,
             @RequestParam(required = false) String status) {
         try {
             if (status == null || status.isEmpty()) {
-                List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(email);
+                List<EnrollmentView> enrollments = enrollmentService.getEnrollmentsByStudent(email);
                 return new ResponseEntity<>(enrollments, HttpStatus.OK);
             }
 
-            List<Enrollment> enrollmentsByStatus = enrollmentService.getEnrollmentsByStatus(status, email);
+            List<EnrollmentView> enrollmentsByStatus = enrollmentService.getEnrollmentsByStatus(status, email);
             return new ResponseEntity<>(enrollmentsByStatus, HttpStatus.OK);
 
         } catch (IllegalArgumentException exception) {
@@ -103,9 +139,9 @@ public class StudentController {
     }
 
     @GetMapping("/student/courses")
-    public ResponseEntity<List<Course>> getStudentCourses(@RequestParam String email) {
+    public ResponseEntity<List<CourseView>> getStudentCourses(@RequestParam String email) {
         try {
-            List<Course> courses = courseService.getCoursesByStudent(email);
+            List<CourseView> courses = courseService.getCoursesByStudent(email);
             return new ResponseEntity<>(courses, HttpStatus.OK);
         } catch (IllegalArgumentException exception) {
             return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
@@ -118,17 +154,41 @@ public class StudentController {
             @RequestParam(required = false)String courseName) {
         try {
             if (courseName != null && !courseName.trim().isEmpty()) {
-                Grade grade = gradeService.getByStudentAndCourse(email, courseName)
+                GradeView grade = gradeService.getByStudentAndCourse(email, courseName)
                         .orElseThrow(() -> new IllegalArgumentException("Grade not found!"));
                 return new ResponseEntity<>(grade, HttpStatus.OK);
             }
-            List<Grade> grades = gradeService.getByStudent(email);
+            List<GradeView> grades = gradeService.getByStudent(email);
             return new ResponseEntity<>(grades, HttpStatus.OK);
         } catch (IllegalArgumentException exception) {
             return new ResponseEntity<>(Map.of("message", exception.getMessage()), HttpStatus.NOT_FOUND);
         }
     }
 
+    @GetMapping("/student/rank")
+    public ResponseEntity<RankView> getStudentRank(
+            @RequestParam String email,
+            @RequestParam(required = false) String courseName) {
+        try {
+            RankView rank = (courseName != null && !courseName.trim().isEmpty()
+                    ? gradeService.getCourseRank(email, courseName)
+                    : gradeService.getSchoolRank(email))
+                    .orElseThrow(() -> new IllegalArgumentException("Grade not found!"));
+            return new ResponseEntity<>(rank, HttpStatus.OK);
+        } catch (IllegalArgumentException exception) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @GetMapping("/student/transcript")
+    public ResponseEntity<TranscriptView> getStudentTranscript(@RequestParam String email) {
+        try {
+            return new ResponseEntity<>(transcriptService.getByStudent(email), HttpStatus.OK);
+        } catch (IllegalArgumentException exception) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+    }
+
     @PutMapping("/update/student-email")
     public ResponseEntity<?> updateStudentEmail(
             @RequestBody StudentDto dto,
@@ -165,6 +225,32 @@ public class StudentController {
             return ResponseEntity.status(HttpStatus.CREATED).body(enrollment);
         } catch (IllegalArgumentException exception) {
             return ResponseEntity.badRequest().body(exception.getMessage());
+        } catch (IllegalStateException exception) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
+        } catch (Exception exception) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred.");
+        }
+    }
+
+    @PostMapping("/student/bulk-enroll-to-course")
+    public ResponseEntity<?> enrollStudentsToCourse(@RequestBody BulkEnrollmentDto dto) {
+        try {
+            List<EnrollmentResult> results = enrollmentService.enrollStudentsToCourse(dto);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        } catch (Exception exception) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred.");
+        }
+    }
+
+    @PostMapping(value = "/import/students", consumes = "text/csv")
+    public ResponseEntity<?> importStudents(InputStream csv) {
+        try {
+            ImportReport report = importService.importStudents(csv);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
         } catch (Exception exception) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred.");
         }
@@ -1,13 +1,22 @@
 package com.gotinite.course_management.controllers;
 
+import com.gotinite.course_management.dtos.BulkGradeDto;
+import com.gotinite.course_management.dtos.CourseView;
+import com.gotinite.course_management.dtos.GradeResult;
+import com.gotinite.course_management.dtos.GradeSubmissionView;
+import com.gotinite.course_management.dtos.GradeView;
+import com.gotinite.course_management.dtos.ImportReport;
+import com.gotinite.course_management.dtos.KeysetPage;
 import com.gotinite.course_management.dtos.TeacherDto;
-import com.gotinite.course_management.models.Course;
-import com.gotinite.course_management.models.Grade;
+import com.gotinite.course_management.dtos.TeacherView;
 import com.gotinite.course_management.models.Teacher;
 import com.gotinite.course_management.services.CourseService;
 import com.gotinite.course_management.services.GradeService;
+import com.gotinite.course_management.services.GradeSubmissionService;
+import com.gotinite.course_management.services.ImportService;
 import com.gotinite.course_management.services.TeacherService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,6 +24,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,14 +36,36 @@ public class TeacherController {
     private final GradeService gradeService;
     private final CourseService courseService;
     private final TeacherService teacherService;
+    private final ImportService importService;
+    private final ObjectProvider<GradeSubmissionService> gradeSubmissionService;
 
     @GetMapping("/page/teachers")
     public ResponseEntity<Map<String, Object>> fetchTeachers(
             @RequestParam(required = false, defaultValue = "1") int currentPage,
-            @RequestParam(required = false, defaultValue = "10") int perPage
+            @RequestParam(required = false, defaultValue = "10") int perPage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "id") String sort,
+            @RequestParam(required = false, defaultValue = "false") boolean approximateCount
     ) {
+        if (cursor != null) {
+            try {
+                KeysetPage<TeacherView> page = teacherService.getTeachersAfter(cursor, perPage, sort);
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("teachers", page.content());
+                response.put("nextCursor", page.nextCursor());
+                if (approximateCount) {
+                    response.put("approximateTotalElements", teacherService.getApproximateTeacherCount());
+                }
+                return new ResponseEntity<>(response, HttpStatus.OK);
+            } catch (IllegalArgumentException exception) {
+                return new ResponseEntity<>(
+                        Map.of("error", exception.getMessage()),
+                        HttpStatus.BAD_REQUEST);
+            }
+        }
+
         Pageable pageable = PageRequest.of(currentPage - 1, perPage);
-        Page<Teacher> page = teacherService.getAllTeachers(pageable);
+        Page<TeacherView> page = teacherService.getAllTeachers(pageable);
         Map<String, Object> response =Map.of(
                 "teachers", page.getContent(),
                 "totalPages", page.getTotalPages(),
@@ -42,11 +75,12 @@ public class TeacherController {
     }
 
     @GetMapping("/teacher/search")
-    public ResponseEntity<List<Teacher>> searchStudents(
+    public ResponseEntity<List<TeacherView>> searchStudents(
             @RequestParam String value,
-            @RequestParam String type
+            @RequestParam String type,
+            @RequestParam(required = false, defaultValue = "10") int limit
     ) {
-        List<Teacher> teachers;
+        List<TeacherView> teachers;
 
         switch (type.toLowerCase()) {
             case "firstname":
@@ -58,6 +92,20 @@ public class TeacherController {
             case "fullname":
                 teachers = teacherService.getTeachersByFullName(value);
                 break;
+            case "prefix":
+                try {
+                    teachers = teacherService.getTeachersByNamePrefix(value, limit);
+                } catch (IllegalArgumentException exception) {
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+                break;
+            case "fuzzy":
+                try {
+                    teachers = teacherService.getTeachersByFuzzyName(value, limit);
+                } catch (IllegalArgumentException exception) {
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+                break;
             default:
                 return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
@@ -66,9 +114,9 @@ public class TeacherController {
     }
 
     @GetMapping("/teacher/courses")
-    public ResponseEntity<List<Course>> getTeacherCourses(@RequestParam String email) {
+    public ResponseEntity<List<CourseView>> getTeacherCourses(@RequestParam String email) {
         try {
-            List<Course> courses = courseService.getCoursesByTeacher(email);
+            List<CourseView> courses = courseService.getCoursesByTeacher(email);
             return new ResponseEntity<>(courses, HttpStatus.OK);
         } catch (IllegalArgumentException exception) {
             return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
@@ -76,9 +124,9 @@ public class TeacherController {
     }
 
     @GetMapping("/teacher/grades")
-    public ResponseEntity<List<Grade>> getTeacherGrades(@RequestParam String email) {
+    public ResponseEntity<List<GradeView>> getTeacherGrades(@RequestParam String email) {
         try {
-            List<Grade> grades = gradeService.getByTeacher(email);
+            List<GradeView> grades = gradeService.getByTeacher(email);
             return new ResponseEntity<>(grades, HttpStatus.OK);
         } catch (IllegalArgumentException exception) {
             return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
@@ -131,7 +179,7 @@ public class TeacherController {
             @RequestParam Double value
     ) {
         try {
-            Grade newGrade = gradeService.addGrade(studentEmail, courseName, teacherEmail, value);
+            GradeView newGrade = gradeService.addGrade(studentEmail, courseName, teacherEmail, value);
             return ResponseEntity.status(HttpStatus.CREATED).body(newGrade);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -139,4 +187,60 @@ public class TeacherController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred.");
         }
     }
+
+    @PostMapping("/submit/grade")
+    public ResponseEntity<?> submitGrade(
+            @RequestParam String studentEmail,
+            @RequestParam String courseName,
+            @RequestParam String teacherEmail,
+            @RequestParam Double value
+    ) {
+        GradeSubmissionService submissions = gradeSubmissionService.getIfAvailable();
+        if (submissions == null) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+        try {
+            GradeSubmissionView submission = submissions.submitGrade(studentEmail, courseName, teacherEmail, value);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(submission);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        } catch (IllegalStateException exception) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(exception.getMessage());
+        }
+    }
+
+    @GetMapping("/submission/grade")
+    public ResponseEntity<GradeSubmissionView> getGradeSubmission(@RequestParam Long id) {
+        GradeSubmissionService submissions = gradeSubmissionService.getIfAvailable();
+        if (submissions == null) {
+            return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+        }
+        return submissions.getSubmission(id)
+                .map(submission -> new ResponseEntity<>(submission, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping("/add/grades")
+    public ResponseEntity<?> addGrades(@RequestBody BulkGradeDto dto) {
+        try {
+            List<GradeResult> results = gradeService.addGrades(dto);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        } catch (Exception exception) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred.");
+        }
+    }
+
+    @PostMapping(value = "/import/teachers", consumes = "text/csv")
+    public ResponseEntity<?> importTeachers(InputStream csv) {
+        try {
+            ImportReport report = importService.importTeachers(csv);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        } catch (Exception exception) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred.");
+        }
+    }
 }
@@ -0,0 +1,6 @@
+package com.gotinite.course_management.dtos;
+
+import java.util.List;
+
+public record BulkGradeDto(String courseName, String teacherEmail, List<GradeEntryDto> grades) {
+}
@@ -1,4 +1,9 @@
 package com.gotinite.course_management.dtos;
 
-public record CourseDto(String name, String status) {
+// credits may be left out, in which case a new course counts as one credit
+public record CourseDto(String name, String status, Integer credits) {
+
+    public CourseDto(String name, String status) {
+        this(name, status, null);
+    }
 }
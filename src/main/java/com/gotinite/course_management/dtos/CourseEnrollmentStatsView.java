@@ -0,0 +1,5 @@
+package com.gotinite.course_management.dtos;
+
+public record CourseEnrollmentStatsView(String courseName, long active, long completed,
+                                        long successful, long unsuccessful) {
+}
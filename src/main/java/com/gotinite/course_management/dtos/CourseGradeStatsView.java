@@ -0,0 +1,24 @@
+package com.gotinite.course_management.dtos;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public record CourseGradeStatsView(String courseName, long count, Double average, Double standardDeviation,
+                                   Double min, Double max, Map<Integer, Long> distribution) {
+
+    public CourseGradeStatsView(String courseName, Long count, Double sum, Double sumOfSquares,
+                                Double min, Double max,
+                                Long grades2, Long grades3, Long grades4, Long grades5, Long grades6) {
+        this(courseName, count, count == 0 ? null : sum / count,
+                count == 0 ? null : Math.sqrt(Math.max(0, sumOfSquares / count - (sum / count) * (sum / count))),
+                min, max, distribution(grades2, grades3, grades4, grades5, grades6));
+    }
+
+    private static Map<Integer, Long> distribution(Long... buckets) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            distribution.put(i + 2, buckets[i]);
+        }
+        return distribution;
+    }
+}
@@ -0,0 +1,6 @@
+package com.gotinite.course_management.dtos;
+
+import com.gotinite.course_management.models.CourseStatus;
+
+public record CourseView(Long id, String name, CourseStatus status, String teacherEmail) {
+}
@@ -0,0 +1,9 @@
+package com.gotinite.course_management.dtos;
+
+import com.gotinite.course_management.models.EnrollmentStatus;
+
+import java.time.Instant;
+
+public record EnrollmentExportRow(Long id, EnrollmentStatus status, String studentEmail, String courseName,
+                                  String teacherEmail, Instant enrolledAt) {
+}
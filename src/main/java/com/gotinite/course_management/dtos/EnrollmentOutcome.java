@@ -0,0 +1,8 @@
+package com.gotinite.course_management.dtos;
+
+public enum EnrollmentOutcome {
+    CREATED,
+    DUPLICATE,
+    COURSE_FULL,
+    UNKNOWN_STUDENT
+}
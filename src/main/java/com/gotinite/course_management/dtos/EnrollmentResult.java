@@ -0,0 +1,4 @@
+package com.gotinite.course_management.dtos;
+
+public record EnrollmentResult(String studentEmail, EnrollmentOutcome outcome) {
+}
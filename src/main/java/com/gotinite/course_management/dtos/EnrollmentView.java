@@ -0,0 +1,6 @@
+package com.gotinite.course_management.dtos;
+
+import com.gotinite.course_management.models.EnrollmentStatus;
+
+public record EnrollmentView(Long id, EnrollmentStatus status, String courseName, String studentEmail) {
+}
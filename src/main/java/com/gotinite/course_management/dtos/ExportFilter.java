@@ -0,0 +1,9 @@
+package com.gotinite.course_management.dtos;
+
+import java.time.Instant;
+
+/**
+ * Optional export filters; a null field matches every row. The range is [from, to).
+ */
+public record ExportFilter(Long courseId, Long teacherId, Instant from, Instant to) {
+}
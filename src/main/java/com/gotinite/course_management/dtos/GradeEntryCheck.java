@@ -0,0 +1,4 @@
+package com.gotinite.course_management.dtos;
+
+public record GradeEntryCheck(boolean taughtByTeacher, boolean enrolled, boolean graded) {
+}
@@ -0,0 +1,4 @@
+package com.gotinite.course_management.dtos;
+
+public record GradeEntryDto(String studentEmail, Double value) {
+}
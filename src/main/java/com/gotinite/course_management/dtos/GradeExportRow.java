@@ -0,0 +1,7 @@
+package com.gotinite.course_management.dtos;
+
+import java.time.Instant;
+
+public record GradeExportRow(Long id, Double value, String studentEmail, String courseName,
+                             String teacherEmail, Instant gradedAt) {
+}
@@ -0,0 +1,10 @@
+package com.gotinite.course_management.dtos;
+
+public enum GradeOutcome {
+    CREATED,
+    DUPLICATE,
+    UNKNOWN_STUDENT,
+    NOT_ENROLLED,
+    INVALID_VALUE,
+    NOT_ALLOWED
+}
@@ -0,0 +1,4 @@
+package com.gotinite.course_management.dtos;
+
+public record GradeRankRow(Long id, Long studentId, Long courseId, Double value) {
+}
@@ -0,0 +1,4 @@
+package com.gotinite.course_management.dtos;
+
+public record GradeSubmission(Long id, Long studentId, Long courseId, Long teacherId, Double value) {
+}
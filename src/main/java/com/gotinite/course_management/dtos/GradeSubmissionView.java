@@ -0,0 +1,4 @@
+package com.gotinite.course_management.dtos;
+
+public record GradeSubmissionView(Long id, SubmissionStatus status, GradeOutcome outcome) {
+}
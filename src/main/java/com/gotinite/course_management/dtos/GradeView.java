@@ -0,0 +1,4 @@
+package com.gotinite.course_management.dtos;
+
+public record GradeView(Long id, Double value, String studentEmail, String courseName, String teacherEmail) {
+}
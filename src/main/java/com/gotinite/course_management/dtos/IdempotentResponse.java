@@ -0,0 +1,14 @@
+package com.gotinite.course_management.dtos;
+
+public record IdempotentResponse(String fingerprint, int status, String contentType, byte[] body) {
+
+    private static final byte[] NO_BODY = new byte[0];
+
+    public static IdempotentResponse inProgress(String fingerprint) {
+        return new IdempotentResponse(fingerprint, 0, null, NO_BODY);
+    }
+
+    public boolean isInProgress() {
+        return status == 0;
+    }
+}
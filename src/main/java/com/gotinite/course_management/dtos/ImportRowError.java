@@ -0,0 +1,4 @@
+package com.gotinite.course_management.dtos;
+
+public record ImportRowError(long line, String email, String error) {
+}
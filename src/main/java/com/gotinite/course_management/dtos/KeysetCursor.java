@@ -0,0 +1,31 @@
+package com.gotinite.course_management.dtos;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record KeysetCursor(Long id, String lastName) {
+
+    private static final String SEPARATOR = ":";
+
+    public static KeysetCursor first() {
+        return new KeysetCursor(0L, "");
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return first();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) return new KeysetCursor(Long.parseLong(decoded), "");
+            return new KeysetCursor(Long.parseLong(decoded.substring(0, separator)),
+                    decoded.substring(separator + 1));
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Invalid cursor!");
+        }
+    }
+
+    public String encode() {
+        String raw = lastName == null || lastName.isEmpty() ? id.toString() : id + SEPARATOR + lastName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,13 @@
+package com.gotinite.course_management.dtos;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursor) {
+        if (rows.size() <= size) return new KeysetPage<>(rows, null);
+        List<T> content = rows.subList(0, size);
+        return new KeysetPage<>(content, cursor.apply(content.getLast()).encode());
+    }
+}
@@ -0,0 +1,4 @@
+package com.gotinite.course_management.dtos;
+
+public record RankView(Double value, long rank, long outOf, double percentile) {
+}
@@ -0,0 +1,4 @@
+package com.gotinite.course_management.dtos;
+
+public record StudentView(Long id, String firstName, String lastName, String email) {
+}
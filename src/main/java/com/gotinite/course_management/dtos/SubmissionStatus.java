@@ -0,0 +1,6 @@
+package com.gotinite.course_management.dtos;
+
+public enum SubmissionStatus {
+    QUEUED,
+    COMPLETED
+}
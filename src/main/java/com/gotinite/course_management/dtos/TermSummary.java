@@ -0,0 +1,9 @@
+package com.gotinite.course_management.dtos;
+
+public record TermSummary(int year, int term, long courses, long credits, Double average, Double weightedAverage) {
+
+    public TermSummary(TranscriptTermRow row) {
+        this(row.year(), row.term(), row.courses(), row.credits(),
+                row.gradeSum() / row.courses(), row.weightedGradeSum() / row.credits());
+    }
+}
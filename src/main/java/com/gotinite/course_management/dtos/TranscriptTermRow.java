@@ -0,0 +1,5 @@
+package com.gotinite.course_management.dtos;
+
+public record TranscriptTermRow(Long studentId, Integer year, Integer term, Long courses,
+                                Double gradeSum, Long credits, Double weightedGradeSum) {
+}
@@ -0,0 +1,25 @@
+package com.gotinite.course_management.dtos;
+
+import java.util.List;
+
+public record TranscriptView(long courses, long credits, Double gpa, Double weightedAverage, List<TermSummary> terms) {
+
+    public static final TranscriptView EMPTY = new TranscriptView(0, 0, null, null, List.of());
+
+    // the rows hold sums, so the overall averages are exact rather than averages of term averages
+    public static TranscriptView of(List<TranscriptTermRow> rows) {
+        if (rows.isEmpty()) return EMPTY;
+        long courses = 0;
+        long credits = 0;
+        double gradeSum = 0;
+        double weightedGradeSum = 0;
+        for (TranscriptTermRow row : rows) {
+            courses += row.courses();
+            credits += row.credits();
+            gradeSum += row.gradeSum();
+            weightedGradeSum += row.weightedGradeSum();
+        }
+        return new TranscriptView(courses, credits, gradeSum / courses, weightedGradeSum / credits,
+                rows.stream().map(TermSummary::new).toList());
+    }
+}
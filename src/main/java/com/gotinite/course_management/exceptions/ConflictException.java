@@ -0,0 +1,19 @@
+package com.gotinite.course_management.exceptions;
+
+import com.gotinite.course_management.monitoring.FailureReason;
+import lombok.Getter;
+
+/**
+ * A request that conflicts with the current state, answered with 409 like any
+ * {@link IllegalStateException}, that carries the {@link FailureReason} it is counted under.
+ */
+@Getter
+public class ConflictException extends IllegalStateException {
+
+    private final FailureReason reason;
+
+    public ConflictException(FailureReason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+}
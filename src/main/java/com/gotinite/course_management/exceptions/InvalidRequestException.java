@@ -0,0 +1,19 @@
+package com.gotinite.course_management.exceptions;
+
+import com.gotinite.course_management.monitoring.FailureReason;
+import lombok.Getter;
+
+/**
+ * A rejected request, answered with 400 like any {@link IllegalArgumentException}, that carries the
+ * {@link FailureReason} it is counted under in the service metrics.
+ */
+@Getter
+public class InvalidRequestException extends IllegalArgumentException {
+
+    private final FailureReason reason;
+
+    public InvalidRequestException(FailureReason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+}
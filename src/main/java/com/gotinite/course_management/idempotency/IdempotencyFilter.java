@@ -0,0 +1,253 @@
+package com.gotinite.course_management.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gotinite.course_management.dtos.IdempotentResponse;
+import com.gotinite.course_management.repositories.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays the first response to a POST on one of {@code idempotency.paths} for every retry that
+ * carries the same {@code Idempotency-Key} header, without running the request again. A retry that
+ * arrives while the first request is still running gets 409, and a key reused for a different
+ * request (method, path, parameters and body) gets 422. Server errors are not kept, so they can be
+ * retried. Responses live in a bounded, expiring cache and, with {@code idempotency.persistent},
+ * in the idempotency_keys table as well.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter implements MeterBinder {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAXIMUM_KEY_LENGTH = 255;
+    private static final long CLEANUP_INTERVAL = 1000;
+
+    private final Set<String> paths;
+    private final Duration expireAfter;
+    private final boolean persistent;
+    private final ObjectProvider<IdempotencyKeyRepository> idempotencyKeyRepository;
+    private final Cache<String, IdempotentResponse> responses;
+    private final AtomicLong saves = new AtomicLong();
+
+    public IdempotencyFilter(ObjectProvider<IdempotencyKeyRepository> idempotencyKeyRepository,
+                             @Value("${idempotency.paths:/create/student,/create/course,/student/enroll-to-course,/add/grade}")
+                             Set<String> paths,
+                             @Value("${idempotency.maximum-size:100000}") long maximumSize,
+                             @Value("${idempotency.expire-after:24h}") Duration expireAfter,
+                             @Value("${idempotency.persistent:false}") boolean persistent) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.paths = Set.copyOf(paths);
+        this.expireAfter = expireAfter;
+        this.persistent = persistent;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !paths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAXIMUM_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "Incorrect value for idempotency key!");
+            return;
+        }
+        String key = request.getRequestURI() + " " + idempotencyKey;
+        // form parameters are read through getParameterMap, so only other bodies are buffered here
+        byte[] body = isForm(request) ? new byte[0] : request.getInputStream().readAllBytes();
+        String fingerprint = fingerprint(request, body);
+
+        IdempotentResponse claim = IdempotentResponse.inProgress(fingerprint);
+        IdempotentResponse existing = responses.asMap().putIfAbsent(key, claim);
+        if (existing == null && persistent) {
+            existing = findStored(key);
+            if (existing != null) responses.put(key, existing);
+        }
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "The idempotency key was used for a different request!");
+            } else if (existing.isInProgress()) {
+                reject(response, HttpStatus.CONFLICT, "A request with this idempotency key is in progress!");
+            } else {
+                replay(existing, response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapped = new ContentCachingResponseWrapper(response);
+        boolean kept = false;
+        try {
+            chain.doFilter(isForm(request) ? request : new BufferedBodyRequest(request, body), wrapped);
+            if (wrapped.getStatus() < 500) {
+                IdempotentResponse completed = new IdempotentResponse(fingerprint, wrapped.getStatus(),
+                        wrapped.getContentType(), wrapped.getContentAsByteArray());
+                responses.put(key, completed);
+                kept = true;
+                if (persistent) store(key, completed);
+            }
+        } finally {
+            if (!kept) responses.asMap().remove(key, claim);
+            wrapped.copyBodyToResponse();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, "idempotency.responses");
+    }
+
+    private IdempotentResponse findStored(String key) {
+        IdempotencyKeyRepository repository = idempotencyKeyRepository.getIfAvailable();
+        if (repository == null) return null;
+        return repository.findByKey(key, Instant.now().minus(expireAfter)).orElse(null);
+    }
+
+    private void store(String key, IdempotentResponse completed) {
+        IdempotencyKeyRepository repository = idempotencyKeyRepository.getIfAvailable();
+        if (repository == null) return;
+        try {
+            repository.save(key, completed);
+            if (saves.incrementAndGet() % CLEANUP_INTERVAL == 0) {
+                log.info("Deleted {} expired idempotency keys.",
+                        repository.deleteCreatedBefore(Instant.now().minus(expireAfter)));
+            }
+        } catch (RuntimeException exception) {
+            // the response is still kept in memory, so only retries after a restart miss it
+            log.warn("Storing the response for idempotency key {} failed.", key, exception);
+        }
+    }
+
+    private static void replay(IdempotentResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) response.setContentType(stored.contentType());
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    private static boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+        digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            digest.update((parameter.getKey() + "=" + String.join(",", parameter.getValue()) + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(body);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // the whole body is already in memory, so it is available at once
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException exception) {
+                        readListener.onError(exception);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
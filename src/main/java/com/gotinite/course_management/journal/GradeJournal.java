@@ -0,0 +1,155 @@
+package com.gotinite.course_management.journal;
+
+import com.gotinite.course_management.dtos.GradeSubmission;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of grade submissions in a memory-mapped file of fixed-size records. A record
+ * is forced to disk before {@link #append} returns, and {@link #markDrained} moves a persistent
+ * cursor past the records written to the database; whatever lies between the two is handed back by
+ * {@link #pending()} after a restart.
+ * <p>
+ * Once every record is drained the journal starts over at the first slot under a new generation.
+ * Records carry their generation and a checksum, so stale or torn records end the recovery scan.
+ * A submission id is the generation in the high and the slot in the low 32 bits.
+ */
+public class GradeJournal implements AutoCloseable {
+
+    private static final long MAGIC = 0x4752444A524E4C31L;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 48;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int GENERATION_OFFSET = 8;
+    private static final int DRAINED_OFFSET = 12;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final List<GradeSubmission> pending = new ArrayList<>();
+    private int generation;
+    private int drained;
+    private int written;
+
+    public GradeJournal(Path file, int capacity) {
+        if (capacity < 1 || capacity > (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE) {
+            throw new IllegalArgumentException("Incorrect value for journal capacity!");
+        }
+        this.capacity = capacity;
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        recover();
+    }
+
+    /** The submissions appended but not drained when the journal was opened, in order. */
+    public List<GradeSubmission> pending() {
+        return List.copyOf(pending);
+    }
+
+    public GradeSubmission append(Long studentId, Long courseId, Long teacherId, Double value) {
+        return append(studentId, courseId, teacherId, value, submission -> {
+        });
+    }
+
+    /**
+     * Appends a submission and hands it to {@code onAppended} before the next append can start, so a
+     * consumer sees submissions in slot order and {@link #markDrained} never skips an earlier slot.
+     */
+    public synchronized GradeSubmission append(Long studentId, Long courseId, Long teacherId, Double value,
+                                               Consumer<GradeSubmission> onAppended) {
+        if (written == capacity) {
+            throw new IllegalStateException("The submission queue is full!");
+        }
+        int position = recordPosition(written);
+        buffer.putLong(position + 8, studentId);
+        buffer.putLong(position + 16, courseId);
+        buffer.putLong(position + 24, teacherId);
+        buffer.putDouble(position + 32, value);
+        buffer.putLong(position + 40, System.currentTimeMillis());
+        buffer.putInt(position, generation);
+        buffer.putInt(position + 4, checksum(position));
+        buffer.force(position, RECORD_SIZE);
+        GradeSubmission submission = new GradeSubmission(id(written++), studentId, courseId, teacherId, value);
+        onAppended.accept(submission);
+        return submission;
+    }
+
+    /** Marks every submission up to and including {@code id} as written to the database. */
+    public synchronized void markDrained(Long id) {
+        if ((int) (id >>> 32) != generation) return;
+        drained = Math.max(drained, (int) id.longValue() + 1);
+        if (drained == written) {
+            generation++;
+            drained = 0;
+            written = 0;
+        }
+        buffer.putInt(GENERATION_OFFSET, generation);
+        buffer.putInt(DRAINED_OFFSET, drained);
+        buffer.force(0, HEADER_SIZE);
+    }
+
+    public synchronized int size() {
+        return written - drained;
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void recover() {
+        if (buffer.getLong(MAGIC_OFFSET) != MAGIC) {
+            buffer.putLong(MAGIC_OFFSET, MAGIC);
+            buffer.putInt(GENERATION_OFFSET, 1);
+            buffer.putInt(DRAINED_OFFSET, 0);
+            buffer.force(0, HEADER_SIZE);
+        }
+        generation = buffer.getInt(GENERATION_OFFSET);
+        drained = Math.min(buffer.getInt(DRAINED_OFFSET), capacity);
+        written = drained;
+        while (written < capacity) {
+            int position = recordPosition(written);
+            if (buffer.getInt(position) != generation || buffer.getInt(position + 4) != checksum(position)) break;
+            pending.add(new GradeSubmission(id(written), buffer.getLong(position + 8), buffer.getLong(position + 16),
+                    buffer.getLong(position + 24), buffer.getDouble(position + 32)));
+            written++;
+        }
+    }
+
+    private int checksum(int position) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position, 4));
+        crc.update(buffer.slice(position + 8, RECORD_SIZE - 8));
+        return (int) crc.getValue();
+    }
+
+    private long id(int slot) {
+        return ((long) generation << 32) | slot;
+    }
+
+    private static int recordPosition(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+}
@@ -2,6 +2,7 @@ package com.gotinite.course_management.mappers;
 
 import com.gotinite.course_management.dtos.CourseDto;
 import com.gotinite.course_management.models.Course;
+import com.gotinite.course_management.models.CourseStatus;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
@@ -13,8 +14,13 @@ public interface CourseMapper {
     @Mapping(target = "enrollments", ignore = true)
     @Mapping(target = "grades", ignore = true)
     @Mapping(target = "teacher", ignore = true)
-    @Mapping(target = "students", ignore = true)
+    @Mapping(target = "capacity", ignore = true)
+    @Mapping(target = "credits", source = "dto.credits", defaultValue = "1")
     @Mapping(target = "name", source = "dto.name")
     @Mapping(target = "status", source = "dto.status")
     Course convertDtoToEntity(CourseDto dto);
+
+    default CourseStatus toCourseStatus(String status) {
+        return CourseStatus.of(status);
+    }
 }
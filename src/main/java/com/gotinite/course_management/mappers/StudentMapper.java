@@ -12,7 +12,7 @@ public interface StudentMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "enrollments", ignore = true)
     @Mapping(target = "grades", ignore = true)
-    @Mapping(target = "courses", ignore = true)
+    @Mapping(target = "searchName", ignore = true)
     @Mapping(target = "firstName", source = "dto.firstName")
     @Mapping(target = "lastName", source = "dto.lastName")
     @Mapping(target = "email", source = "dto.email")
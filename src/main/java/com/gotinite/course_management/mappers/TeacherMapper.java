@@ -11,6 +11,7 @@ public interface TeacherMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "grades", ignore = true)
+    @Mapping(target = "searchName", ignore = true)
     @Mapping(target = "courses", ignore = true)
     @Mapping(target = "firstName", source = "dto.firstName")
     @Mapping(target = "lastName", source = "dto.lastName")
@@ -0,0 +1,36 @@
+package com.gotinite.course_management.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-course enrollment counts by {@link EnrollmentStatus}, kept current by {@code EnrollmentService}
+ * in the transaction that writes the enrollments.
+ */
+@Entity
+@Table(name = "course_enrollment_stats")
+@Data
+@NoArgsConstructor
+public class CourseEnrollmentStats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "active_count", nullable = false)
+    private long activeCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "successful_count", nullable = false)
+    private long successfulCount;
+
+    @Column(name = "unsuccessful_count", nullable = false)
+    private long unsuccessfulCount;
+
+    public CourseEnrollmentStats(Long courseId) {
+        this.courseId = courseId;
+    }
+}
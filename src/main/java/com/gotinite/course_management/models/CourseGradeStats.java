@@ -0,0 +1,58 @@
+package com.gotinite.course_management.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-course grade aggregates, kept current by {@code GradeService} in the transaction that
+ * writes the grade. {@code grades2}..{@code grades6} count the grades whose integer part is 2..6.
+ */
+@Entity
+@Table(name = "course_grade_stats")
+@Data
+@NoArgsConstructor
+public class CourseGradeStats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "grade_count", nullable = false)
+    private long gradeCount;
+
+    @Column(name = "grade_sum", nullable = false)
+    private double gradeSum;
+
+    @Column(name = "grade_sum_of_squares", nullable = false)
+    private double gradeSumOfSquares;
+
+    @Column(name = "min_grade")
+    private Double minGrade;
+
+    @Column(name = "max_grade")
+    private Double maxGrade;
+
+    @Column(name = "grades_2", nullable = false)
+    private long grades2;
+
+    @Column(name = "grades_3", nullable = false)
+    private long grades3;
+
+    @Column(name = "grades_4", nullable = false)
+    private long grades4;
+
+    @Column(name = "grades_5", nullable = false)
+    private long grades5;
+
+    @Column(name = "grades_6", nullable = false)
+    private long grades6;
+
+    public CourseGradeStats(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public static int bucketOf(double value) {
+        return (int) Math.min(6, Math.max(2, Math.floor(value)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.gotinite.course_management.models;
+
+import java.util.Locale;
+
+/**
+ * Stored as the SMALLINT {@link #code()}, so codes must never be renumbered.
+ */
+public enum CourseStatus {
+    ACTIVE(1),
+    PENDING(2),
+    INACTIVE(3);
+
+    private final short code;
+
+    CourseStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static CourseStatus fromCode(short code) {
+        for (CourseStatus status : values()) {
+            if (status.code == code) return status;
+        }
+        throw new IllegalArgumentException("Unknown course status code: " + code);
+    }
+
+    public static CourseStatus of(String status) {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("The status cannot be empty!");
+        }
+        try {
+            return valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Incorrect value for course status!");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.gotinite.course_management.models;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class CourseStatusConverter implements AttributeConverter<CourseStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(CourseStatus status) {
+        return status == null ? null : status.code();
+    }
+
+    @Override
+    public CourseStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : CourseStatus.fromCode(code);
+    }
+}
@@ -3,6 +3,9 @@ package com.gotinite.course_management.models;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
 
 @Entity
 @Table(
@@ -16,11 +19,12 @@ import lombok.NoArgsConstructor;
 public class Enrollment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollments_seq")
+    @SequenceGenerator(name = "enrollments_seq", sequenceName = "enrollments_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "status", nullable = false)
-    private String status;
+    private EnrollmentStatus status;
 
     @ManyToOne
     @JoinColumn(name = "course_id", nullable = false)
@@ -30,7 +34,11 @@ public class Enrollment {
     @JoinColumn(name = "student_id", nullable = false)
     private Student student;
 
-    public Enrollment(String status, Course course, Student student) {
+    @CreationTimestamp
+    @Column(name = "enrolled_at", nullable = false, updatable = false)
+    private Instant enrolledAt;
+
+    public Enrollment(EnrollmentStatus status, Course course, Student student) {
         this.status = status;
         this.course = course;
         this.student = student;
@@ -0,0 +1,42 @@
+package com.gotinite.course_management.models;
+
+import java.util.Locale;
+
+/**
+ * Stored as the SMALLINT {@link #code()}, so codes must never be renumbered. New enrollments are
+ * {@link #ACTIVE}.
+ */
+public enum EnrollmentStatus {
+    ACTIVE(1),
+    COMPLETED(2),
+    SUCCESSFUL(3),
+    UNSUCCESSFUL(4);
+
+    private final short code;
+
+    EnrollmentStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static EnrollmentStatus fromCode(short code) {
+        for (EnrollmentStatus status : values()) {
+            if (status.code == code) return status;
+        }
+        throw new IllegalArgumentException("Unknown enrollment status code: " + code);
+    }
+
+    public static EnrollmentStatus of(String status) {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("The status cannot be empty!");
+        }
+        try {
+            return valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Incorrect value for enrollment status!");
+        }
+    }
+}
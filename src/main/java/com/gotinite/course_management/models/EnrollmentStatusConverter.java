@@ -0,0 +1,18 @@
+package com.gotinite.course_management.models;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class EnrollmentStatusConverter implements AttributeConverter<EnrollmentStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(EnrollmentStatus status) {
+        return status == null ? null : status.code();
+    }
+
+    @Override
+    public EnrollmentStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : EnrollmentStatus.fromCode(code);
+    }
+}
@@ -3,6 +3,9 @@ package com.gotinite.course_management.models;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
 
 @Entity
 @Table(
@@ -16,7 +19,8 @@ import lombok.NoArgsConstructor;
 public class Grade {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grades_seq")
+    @SequenceGenerator(name = "grades_seq", sequenceName = "grades_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "grade_value", nullable = false)
@@ -34,6 +38,10 @@ public class Grade {
     @JoinColumn(name = "teacher_id", nullable = false)
     private Teacher teacher;
 
+    @CreationTimestamp
+    @Column(name = "graded_at", nullable = false, updatable = false)
+    private Instant gradedAt;
+
     public Grade(Double value, Student student, Course course, Teacher teacher) {
         this.value = value;
         this.student = student;
@@ -1,5 +1,6 @@
 package com.gotinite.course_management.models;
 
+import com.gotinite.course_management.search.NameSearchIndexListener;
 import jakarta.persistence.*;
 
 import java.util.Objects;
@@ -7,12 +8,14 @@ import java.util.Set;
 import lombok.Data;
 
 @Entity
+@EntityListeners(NameSearchIndexListener.class)
 @Table(name = "students")
 @Data
 public class Student {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -24,20 +27,15 @@ public class Student {
     @Column(name = "email", nullable = false, unique = true)
     private String email;
 
+    @Column(name = "search_name", insertable = false, updatable = false)
+    private String searchName;
+
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Enrollment> enrollments;
 
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Grade> grades;
 
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(
-            name = "student_courses",
-            joinColumns = @JoinColumn(name = "student_id"),
-            inverseJoinColumns = @JoinColumn(name = "course_id")
-    )
-    private Set<Course> courses;
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
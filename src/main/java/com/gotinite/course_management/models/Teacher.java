@@ -1,18 +1,25 @@
 package com.gotinite.course_management.models;
 
+import com.gotinite.course_management.search.NameSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Objects;
 import java.util.Set;
 
 @Entity
+@EntityListeners(NameSearchIndexListener.class)
 @Table(name = "teachers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teachers")
 @Data
 public class Teacher {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teachers_seq")
+    @SequenceGenerator(name = "teachers_seq", sequenceName = "teachers_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "first_name", nullable = false)
@@ -24,6 +31,9 @@ public class Teacher {
     @Column(name = "email", unique = true, nullable = false)
     private String email;
 
+    @Column(name = "search_name", insertable = false, updatable = false)
+    private String searchName;
+
     @OneToMany(mappedBy = "teacher", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Grade> grades;
 
@@ -0,0 +1,34 @@
+package com.gotinite.course_management.monitoring;
+
+import com.gotinite.course_management.exceptions.ConflictException;
+import com.gotinite.course_management.exceptions.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * A small, fixed set of metric tags for service failures. Services state the reason on the
+ * {@link InvalidRequestException} or {@link ConflictException} they throw; any other rejected
+ * argument or state counts as {@link #INVALID_INPUT} and everything else as {@link #ERROR}.
+ */
+public enum FailureReason {
+    NOT_FOUND,
+    DUPLICATE,
+    COURSE_FULL,
+    INVALID_GRADE,
+    NOT_ALLOWED,
+    INVALID_INPUT,
+    ERROR;
+
+    public static FailureReason of(Throwable throwable) {
+        if (throwable instanceof InvalidRequestException exception) return exception.getReason();
+        if (throwable instanceof ConflictException exception) return exception.getReason();
+        if (throwable instanceof IllegalArgumentException || throwable instanceof IllegalStateException) {
+            return INVALID_INPUT;
+        }
+        return ERROR;
+    }
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
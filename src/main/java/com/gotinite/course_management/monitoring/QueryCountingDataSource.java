@@ -0,0 +1,94 @@
+package com.gotinite.course_management.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Records every statement executed through the wrapped data source into the thread's
+ * {@link QueryStats}, whether it comes from Hibernate or a {@code JdbcTemplate}. Without an active
+ * {@link QueryStats} calls are passed straight through.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection(), null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password), null);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, String sql) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, new Handler(target, sql)));
+    }
+
+    private record Handler(Object target, String sql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) return proxy == args[0];
+            if (target instanceof Connection) {
+                Object result = call(method, args);
+                return switch (name) {
+                    case "prepareStatement" -> proxy(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                    case "prepareCall" -> proxy(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+                    case "createStatement" -> proxy(Statement.class, (Statement) result, null);
+                    default -> result;
+                };
+            }
+
+            QueryStats stats = QueryStats.current();
+            if (stats == null) return call(method, args);
+
+            if (target instanceof ResultSet) {
+                Object result = call(method, args);
+                if (name.equals("next") && Boolean.TRUE.equals(result)) stats.row();
+                return result;
+            }
+            if (name.startsWith("execute")) {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                long start = System.nanoTime();
+                try {
+                    return countRows(call(method, args), executed);
+                } finally {
+                    stats.statement(executed, System.nanoTime() - start);
+                }
+            }
+            if (name.equals("getResultSet") || name.equals("getGeneratedKeys")) {
+                return countRows(call(method, args), sql);
+            }
+            return call(method, args);
+        }
+
+        private static Object countRows(Object result, String sql) {
+            return result instanceof ResultSet resultSet ? proxy(ResultSet.class, resultSet, sql) : result;
+        }
+
+        private Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        }
+    }
+}
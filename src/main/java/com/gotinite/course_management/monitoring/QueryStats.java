@@ -0,0 +1,99 @@
+package com.gotinite.course_management.monitoring;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * JDBC work done by the current thread since {@link #start()}: statements, rows read and time spent
+ * executing. Statements are also counted by SQL text, so repeated lazy loads (N+1) stand out.
+ * Work handed to other threads is counted too when it is wrapped with {@link #propagate}.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executions = new ConcurrentHashMap<>();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /** Runs {@code task} against the stats of the thread that calls this, wherever it ends up running. */
+    public static Runnable propagate(Runnable task) {
+        QueryStats stats = current();
+        if (stats == null) return task;
+        return () -> stats.run(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        QueryStats stats = current();
+        if (stats == null) return task;
+        return () -> stats.run(task);
+    }
+
+    private <T> T run(Supplier<T> task) {
+        QueryStats previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) CURRENT.remove();
+            else CURRENT.set(previous);
+        }
+    }
+
+    void statement(String sql, long elapsedNanos) {
+        statements.increment();
+        nanos.add(elapsedNanos);
+        if (sql != null) executions.merge(sql, 1, Integer::sum);
+    }
+
+    void row() {
+        rows.increment();
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getNanos() {
+        return nanos.sum();
+    }
+
+    public long getMillis() {
+        return getNanos() / 1_000_000;
+    }
+
+    public Set<String> getSql() {
+        return Set.copyOf(executions.keySet());
+    }
+
+    public Map.Entry<String, Integer> mostRepeated() {
+        return executions.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+}
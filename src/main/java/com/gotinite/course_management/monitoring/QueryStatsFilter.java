@@ -0,0 +1,217 @@
+package com.gotinite.course_management.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the JDBC work of each request as {@code X-Query-*} response headers, Micrometer metrics
+ * and a warning log line when a request runs too many statements or repeats one too often.
+ * Work on the fan-out and async executors counts towards the request that handed it over, and
+ * async requests are recorded once they complete. Headers are written just before the first body
+ * byte, so statements run while streaming the body are only covered by the metrics and the log.
+ */
+@Slf4j
+@Component
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_ROWS_HEADER = "X-Query-Rows";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int statementThreshold;
+    private final int repeatThreshold;
+
+    public QueryStatsFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                            @Value("${monitoring.queries.warn-threshold:20}") int statementThreshold,
+                            @Value("${monitoring.queries.repeat-threshold:5}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.statementThreshold = statementThreshold;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.start();
+        HeaderWritingResponse wrapped = new HeaderWritingResponse(response, stats);
+        try {
+            chain.doFilter(request, wrapped);
+        } finally {
+            QueryStats.stop();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordingListener(request, stats));
+            } else {
+                wrapped.writeHeaders();
+                record(request, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        meterRegistry.ifAvailable(registry -> {
+            Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+            DistributionSummary.builder("http.server.requests.queries").tags(tags)
+                    .register(registry).record(stats.getStatements());
+            DistributionSummary.builder("http.server.requests.query.rows").tags(tags)
+                    .register(registry).record(stats.getRows());
+            Timer.builder("http.server.requests.query.time").tags(tags)
+                    .register(registry).record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        });
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            log.warn("{} {} ran the same statement {} times, likely an N+1 select: {}",
+                    request.getMethod(), uri, repeated.getValue(), repeated.getKey());
+        } else if (stats.getStatements() > statementThreshold) {
+            log.warn("{} {} ran {} statements reading {} rows in {} ms.",
+                    request.getMethod(), uri, stats.getStatements(), stats.getRows(), stats.getMillis());
+        }
+    }
+
+    private final class RecordingListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final QueryStats stats;
+
+        RecordingListener(HttpServletRequest request, QueryStats stats) {
+            this.request = request;
+            this.stats = stats;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, stats);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final QueryStats stats;
+        private boolean headersWritten;
+        private ServletOutputStream outputStream;
+
+        HeaderWritingResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (headersWritten || isCommitted()) return;
+            headersWritten = true;
+            setHeader(QUERY_COUNT_HEADER, Long.toString(stats.getStatements()));
+            setHeader(QUERY_ROWS_HEADER, Long.toString(stats.getRows()));
+            setHeader(QUERY_TIME_HEADER, Long.toString(stats.getMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream target = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        writeHeaders();
+                        target.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        writeHeaders();
+                        target.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        writeHeaders();
+                        target.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        writeHeaders();
+                        target.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return target.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        target.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
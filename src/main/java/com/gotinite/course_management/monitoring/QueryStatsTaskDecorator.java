@@ -0,0 +1,17 @@
+package com.gotinite.course_management.monitoring;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applied by Spring Boot to the application task executor, which runs {@code StreamingResponseBody}
+ * and other async request work, so those statements count towards the request that started them.
+ */
+@Component
+public class QueryStatsTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return QueryStats.propagate(runnable);
+    }
+}
@@ -0,0 +1,59 @@
+package com.gotinite.course_management.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the domain services as {@code service.method} and counts failures as
+ * {@code service.failures} by reason. Runs outside the transaction advice so commit time is included;
+ * histograms and percentiles are configured under {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+@Order(0)
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.gotinite.course_management.services.StudentService.*(..))"
+            + " || execution(public * com.gotinite.course_management.services.TeacherService.*(..))"
+            + " || execution(public * com.gotinite.course_management.services.CourseService.*(..))"
+            + " || execution(public * com.gotinite.course_management.services.GradeService.*(..))"
+            + " || execution(public * com.gotinite.course_management.services.EnrollmentService.*(..))"
+            + " || execution(public * com.gotinite.course_management.services.TranscriptService.*(..))"
+            + " || execution(public * com.gotinite.course_management.services.GradeSubmissionService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            outcome = "failure";
+            Counter.builder("service.failures")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("reason", FailureReason.of(throwable).tag())
+                    .register(meterRegistry)
+                    .increment();
+            throw throwable;
+        } finally {
+            sample.stop(Timer.builder("service.method")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.gotinite.course_management.ranking;
+
+/**
+ * Binary indexed tree of counts over the buckets {@code 0..size-1}: point updates and prefix
+ * counts in O(log size), stored in one int array.
+ */
+class FenwickTree {
+
+    private final int[] tree;
+    private int total;
+
+    FenwickTree(int size) {
+        this.tree = new int[size + 1];
+    }
+
+    void add(int bucket, int delta) {
+        for (int i = bucket + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+        total += delta;
+    }
+
+    /** Number of entries in the buckets {@code 0..bucket}. */
+    int countAtOrBelow(int bucket) {
+        int count = 0;
+        for (int i = Math.min(bucket + 1, tree.length - 1); i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    int total() {
+        return total;
+    }
+}
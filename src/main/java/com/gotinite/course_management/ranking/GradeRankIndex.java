@@ -0,0 +1,96 @@
+package com.gotinite.course_management.ranking;
+
+import com.gotinite.course_management.dtos.GradeRankRow;
+import com.gotinite.course_management.dtos.RankView;
+import com.gotinite.course_management.repositories.GradeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Course and school ranks served from {@link GradeRanks}, built from the grades at startup and
+ * updated after each committed grade write. Writes committed while a build is reading are replayed
+ * onto the new ranks before they replace the old ones.
+ */
+@Slf4j
+@Component
+public class GradeRankIndex {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final GradeRepository gradeRepository;
+    private volatile GradeRanks ranks = new GradeRanks();
+    private List<GradeRankRow> pending;
+
+    public GradeRankIndex(GradeRepository gradeRepository) {
+        this.gradeRepository = gradeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        GradeRanks built = new GradeRanks();
+        List<GradeRankRow> batch;
+        Long afterId = 0L;
+        do {
+            batch = gradeRepository.findRankRowsAfterId(afterId, Limit.of(BATCH_SIZE));
+            batch.forEach(row -> built.put(row.studentId(), row.courseId(), row.value()));
+            if (!batch.isEmpty()) afterId = batch.getLast().id();
+        } while (batch.size() == BATCH_SIZE);
+        synchronized (this) {
+            pending.forEach(row -> built.put(row.studentId(), row.courseId(), row.value()));
+            pending = null;
+            ranks = built;
+        }
+        log.info("Ranked {} grades in {} ms.", built.size(), System.currentTimeMillis() - start);
+    }
+
+    public Optional<RankView> courseRank(Long courseId, Long studentId) {
+        return ranks.courseRank(courseId, studentId);
+    }
+
+    public Optional<RankView> schoolRank(Long studentId) {
+        return ranks.schoolRank(studentId);
+    }
+
+    public void record(Long studentId, Long courseId, Double value) {
+        afterCommit(() -> apply(new GradeRankRow(null, studentId, courseId, value)));
+    }
+
+    public void record(Long courseId, List<Long> studentIds, List<Double> values) {
+        List<GradeRankRow> rows = new ArrayList<>(studentIds.size());
+        for (int i = 0; i < studentIds.size(); i++) {
+            rows.add(new GradeRankRow(null, studentIds.get(i), courseId, values.get(i)));
+        }
+        afterCommit(() -> rows.forEach(this::apply));
+    }
+
+    private synchronized void apply(GradeRankRow row) {
+        if (pending != null) pending.add(row);
+        ranks.put(row.studentId(), row.courseId(), row.value());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
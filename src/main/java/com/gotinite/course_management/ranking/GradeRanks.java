@@ -0,0 +1,112 @@
+package com.gotinite.course_management.ranking;
+
+import com.gotinite.course_management.dtos.RankView;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Order statistics of the grades per course and of the students' averages across the school.
+ * Grades 2.00-6.00 are bucketed by hundredths, so every course and the school keep one Fenwick tree
+ * of 401 counts and a rank is two prefix counts. Putting a grade replaces the student's earlier grade
+ * for the course, so replaying a write is harmless.
+ */
+public class GradeRanks {
+
+    static final int BUCKETS = 401;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, CourseRanks> courses = new HashMap<>();
+    private final Map<Long, StudentTotals> students = new HashMap<>();
+    private final FenwickTree school = new FenwickTree(BUCKETS);
+    private long grades;
+
+    public void put(Long studentId, Long courseId, double value) {
+        int bucket = bucketOf(value);
+        lock.writeLock().lock();
+        try {
+            CourseRanks course = courses.computeIfAbsent(courseId, id -> new CourseRanks());
+            Integer oldBucket = course.buckets.put(studentId, bucket);
+            if (oldBucket != null && oldBucket == bucket) return;
+            if (oldBucket != null) course.tree.add(oldBucket, -1);
+            course.tree.add(bucket, 1);
+
+            StudentTotals totals = students.computeIfAbsent(studentId, id -> new StudentTotals());
+            if (totals.count > 0) school.add(totals.averageBucket(), -1);
+            if (oldBucket == null) {
+                totals.count++;
+                grades++;
+            } else {
+                totals.sum -= oldBucket;
+            }
+            totals.sum += bucket;
+            school.add(totals.averageBucket(), 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<RankView> courseRank(Long courseId, Long studentId) {
+        lock.readLock().lock();
+        try {
+            CourseRanks course = courses.get(courseId);
+            Integer bucket = course == null ? null : course.buckets.get(studentId);
+            if (bucket == null) return Optional.empty();
+            return Optional.of(rank(course.tree, bucket, valueOf(bucket)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<RankView> schoolRank(Long studentId) {
+        lock.readLock().lock();
+        try {
+            StudentTotals totals = students.get(studentId);
+            if (totals == null) return Optional.empty();
+            return Optional.of(rank(school, totals.averageBucket(), 2 + totals.sum / (100.0 * totals.count)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return grades;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static int bucketOf(double value) {
+        return Math.clamp(Math.round((value - 2) * 100), 0, BUCKETS - 1);
+    }
+
+    private static double valueOf(int bucket) {
+        return 2 + bucket / 100.0;
+    }
+
+    // competition ranking: equal values share a rank, and the percentile counts everyone at or below
+    private static RankView rank(FenwickTree tree, int bucket, double value) {
+        int atOrBelow = tree.countAtOrBelow(bucket);
+        int total = tree.total();
+        return new RankView(value, total - atOrBelow + 1L, total, 100.0 * atOrBelow / total);
+    }
+
+    private static class CourseRanks {
+        private final FenwickTree tree = new FenwickTree(BUCKETS);
+        private final Map<Long, Integer> buckets = new HashMap<>();
+    }
+
+    private static class StudentTotals {
+        private long sum;
+        private int count;
+
+        private int averageBucket() {
+            return (int) Math.round((double) sum / count);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.dtos.CourseEnrollmentStatsView;
+import com.gotinite.course_management.models.CourseEnrollmentStats;
+import com.gotinite.course_management.models.EnrollmentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CourseEnrollmentStatsRepository extends JpaRepository<CourseEnrollmentStats, Long> {
+
+    @Query("SELECT new com.gotinite.course_management.dtos.CourseEnrollmentStatsView(c.name, s.activeCount, " +
+            "s.completedCount, s.successfulCount, s.unsuccessfulCount) " +
+            "FROM CourseEnrollmentStats s JOIN Course c ON c.id = s.courseId WHERE s.courseId = :courseId")
+    Optional<CourseEnrollmentStatsView> findViewByCourseId(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("UPDATE CourseEnrollmentStats s SET " +
+            "s.activeCount = s.activeCount + CASE WHEN :status = 1 THEN :count ELSE 0 END, " +
+            "s.completedCount = s.completedCount + CASE WHEN :status = 2 THEN :count ELSE 0 END, " +
+            "s.successfulCount = s.successfulCount + CASE WHEN :status = 3 THEN :count ELSE 0 END, " +
+            "s.unsuccessfulCount = s.unsuccessfulCount + CASE WHEN :status = 4 THEN :count ELSE 0 END " +
+            "WHERE s.courseId = :courseId")
+    int addEnrollments(@Param("courseId") Long courseId,
+                       @Param("status") short status,
+                       @Param("count") long count);
+
+    default int addEnrollments(Long courseId, EnrollmentStatus status, long count) {
+        return addEnrollments(courseId, status.code(), count);
+    }
+}
@@ -0,0 +1,74 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.dtos.CourseGradeStatsView;
+import com.gotinite.course_management.models.CourseGradeStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CourseGradeStatsRepository extends JpaRepository<CourseGradeStats, Long> {
+
+    String VIEW = "SELECT new com.gotinite.course_management.dtos.CourseGradeStatsView(c.name, s.gradeCount, " +
+            "s.gradeSum, s.gradeSumOfSquares, s.minGrade, s.maxGrade, " +
+            "s.grades2, s.grades3, s.grades4, s.grades5, s.grades6) " +
+            "FROM CourseGradeStats s JOIN Course c ON c.id = s.courseId ";
+
+    @Query(VIEW + "WHERE s.courseId = :courseId")
+    Optional<CourseGradeStatsView> findViewByCourseId(@Param("courseId") Long courseId);
+
+    @Query(VIEW + "ORDER BY c.name")
+    List<CourseGradeStatsView> findAllViews();
+
+    @Modifying
+    @Query("UPDATE CourseGradeStats s SET s.gradeCount = s.gradeCount + :count, " +
+            "s.gradeSum = s.gradeSum + :sum, " +
+            "s.gradeSumOfSquares = s.gradeSumOfSquares + :sumOfSquares, " +
+            "s.minGrade = CASE WHEN s.minGrade IS NULL OR :min < s.minGrade THEN :min ELSE s.minGrade END, " +
+            "s.maxGrade = CASE WHEN s.maxGrade IS NULL OR :max > s.maxGrade THEN :max ELSE s.maxGrade END, " +
+            "s.grades2 = s.grades2 + :grades2, s.grades3 = s.grades3 + :grades3, s.grades4 = s.grades4 + :grades4, " +
+            "s.grades5 = s.grades5 + :grades5, s.grades6 = s.grades6 + :grades6 " +
+            "WHERE s.courseId = :courseId")
+    int addGrades(@Param("courseId") Long courseId,
+                  @Param("count") long count,
+                  @Param("sum") double sum,
+                  @Param("sumOfSquares") double sumOfSquares,
+                  @Param("min") double min,
+                  @Param("max") double max,
+                  @Param("grades2") long grades2,
+                  @Param("grades3") long grades3,
+                  @Param("grades4") long grades4,
+                  @Param("grades5") long grades5,
+                  @Param("grades6") long grades6);
+
+    @Modifying
+    @Query("UPDATE CourseGradeStats s SET s.gradeSum = s.gradeSum + :newValue - :oldValue, " +
+            "s.gradeSumOfSquares = s.gradeSumOfSquares + :newValue * :newValue - :oldValue * :oldValue, " +
+            "s.minGrade = CASE WHEN :newValue < s.minGrade THEN :newValue ELSE s.minGrade END, " +
+            "s.maxGrade = CASE WHEN :newValue > s.maxGrade THEN :newValue ELSE s.maxGrade END, " +
+            "s.grades2 = s.grades2 + CASE WHEN :newBucket = 2 THEN 1 ELSE 0 END - CASE WHEN :oldBucket = 2 THEN 1 ELSE 0 END, " +
+            "s.grades3 = s.grades3 + CASE WHEN :newBucket = 3 THEN 1 ELSE 0 END - CASE WHEN :oldBucket = 3 THEN 1 ELSE 0 END, " +
+            "s.grades4 = s.grades4 + CASE WHEN :newBucket = 4 THEN 1 ELSE 0 END - CASE WHEN :oldBucket = 4 THEN 1 ELSE 0 END, " +
+            "s.grades5 = s.grades5 + CASE WHEN :newBucket = 5 THEN 1 ELSE 0 END - CASE WHEN :oldBucket = 5 THEN 1 ELSE 0 END, " +
+            "s.grades6 = s.grades6 + CASE WHEN :newBucket = 6 THEN 1 ELSE 0 END - CASE WHEN :oldBucket = 6 THEN 1 ELSE 0 END " +
+            "WHERE s.courseId = :courseId")
+    int replaceGrade(@Param("courseId") Long courseId,
+                     @Param("oldValue") Double oldValue,
+                     @Param("newValue") Double newValue,
+                     @Param("oldBucket") int oldBucket,
+                     @Param("newBucket") int newBucket);
+
+    // min/max cannot be moved inwards incrementally, so rescan only when the replaced grade was an extreme
+    @Modifying
+    @Query("UPDATE CourseGradeStats s " +
+            "SET s.minGrade = (SELECT MIN(g.value) FROM Grade g WHERE g.course.id = :courseId), " +
+            "s.maxGrade = (SELECT MAX(g.value) FROM Grade g WHERE g.course.id = :courseId) " +
+            "WHERE s.courseId = :courseId AND (s.minGrade = :oldValue OR s.maxGrade = :oldValue)")
+    int refreshExtremes(@Param("courseId") Long courseId,
+                        @Param("oldValue") Double oldValue);
+}
@@ -1,8 +1,12 @@
 package com.gotinite.course_management.repositories;
 
+import com.gotinite.course_management.dtos.CourseView;
 import com.gotinite.course_management.models.Course;
+import com.gotinite.course_management.models.CourseStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,25 +15,35 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseUpdateRepository, CourseSeatRepository {
+
+    boolean existsByIdAndTeacherId(Long id, Long teacherId);
 
     boolean existsByName(String name);
 
     Optional<Course> findByName(String name);
 
-    List<Course> findByStatus(String status);
+    @Query("SELECT c.id FROM Course c WHERE c.name = :name")
+    Optional<Long> findIdByName(@Param("name") String name);
+
+    @Query(value = "SELECT new com.gotinite.course_management.dtos.CourseView(c.id, c.name, c.status, t.email) " +
+            "FROM Course c JOIN c.teacher t",
+            countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<CourseView> findAllViews(Pageable pageable);
 
-    @Query("SELECT c FROM Course c WHERE c.teacher.id = :id")
-    List<Course> findByTeacherId(@Param("id") Long id);
+    @Query("SELECT new com.gotinite.course_management.dtos.CourseView(c.id, c.name, c.status, t.email) " +
+            "FROM Course c JOIN c.teacher t WHERE c.id > :afterId ORDER BY c.id")
+    List<CourseView> findViewsAfterId(@Param("afterId") Long afterId, Limit limit);
 
-    @Query("SELECT c FROM Course c JOIN c.students s WHERE s.id = :id")
-    List<Course> findByStudentId(@Param("id") Long id);
+    @Query("SELECT new com.gotinite.course_management.dtos.CourseView(c.id, c.name, c.status, t.email) " +
+            "FROM Course c JOIN c.teacher t WHERE c.status = :status")
+    List<CourseView> findByStatus(@Param("status") CourseStatus status);
 
-    @Modifying
-    @Query("UPDATE Course c SET c.name = :name WHERE c.id = :id")
-    void updateNameById(@Param("name") String name, @Param("id") Long id);
+    @Query("SELECT new com.gotinite.course_management.dtos.CourseView(c.id, c.name, c.status, t.email) " +
+            "FROM Course c JOIN c.teacher t WHERE t.id = :id")
+    List<CourseView> findByTeacherId(@Param("id") Long id);
 
-    @Modifying
-    @Query("UPDATE Course c SET c.status = :status WHERE c.id = :id")
-    void updateStatusById(@Param("status") String status, @Param("id") Long id);
+    @Query("SELECT new com.gotinite.course_management.dtos.CourseView(c.id, c.name, c.status, t.email) " +
+            "FROM Enrollment e JOIN e.course c JOIN c.teacher t WHERE e.student.id = :id")
+    List<CourseView> findByStudentId(@Param("id") Long id);
 }
@@ -0,0 +1,10 @@
+package com.gotinite.course_management.repositories;
+
+public interface CourseSeatRepository {
+
+    boolean reserveSeat(Long courseId);
+
+    int reserveSeats(Long courseId, int seats);
+
+    boolean updateCapacityById(Integer capacity, Long id);
+}
@@ -0,0 +1,54 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.models.Course;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Seat allocation against {@code courses.seats_taken}. Each reservation is a conditional update
+ * that only takes the course's row lock, so concurrent enrollments to one course queue on that row
+ * and re-check the capacity after the lock is granted, while other courses are unaffected.
+ * {@code seats_taken} is not mapped on {@link Course}, which keeps the cached courses valid.
+ */
+public class CourseSeatRepositoryImpl implements CourseSeatRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CourseSeatRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public boolean reserveSeat(Long courseId) {
+        return jdbcTemplate.update("UPDATE courses SET seats_taken = seats_taken + 1 " +
+                "WHERE id = ? AND (capacity IS NULL OR seats_taken < capacity)", courseId) == 1;
+    }
+
+    @Override
+    public int reserveSeats(Long courseId, int seats) {
+        if (seats <= 0) return 0;
+        List<Integer> free = jdbcTemplate.query(
+                "SELECT capacity - seats_taken FROM courses WHERE id = ? FOR UPDATE",
+                (rs, rowNum) -> rs.getObject(1, Integer.class), courseId);
+        if (free.isEmpty()) return 0;
+        int reserved = free.getFirst() == null ? seats : Math.min(seats, Math.max(0, free.getFirst()));
+        if (reserved > 0) {
+            jdbcTemplate.update("UPDATE courses SET seats_taken = seats_taken + ? WHERE id = ?", reserved, courseId);
+        }
+        return reserved;
+    }
+
+    @Override
+    public boolean updateCapacityById(Integer capacity, Long id) {
+        int updated = capacity == null
+                ? jdbcTemplate.update("UPDATE courses SET capacity = NULL WHERE id = ?", id)
+                : jdbcTemplate.update("UPDATE courses SET capacity = ? WHERE id = ? AND seats_taken <= ?",
+                capacity, id, capacity);
+        entityManagerFactory.getCache().evict(Course.class, id);
+        return updated == 1;
+    }
+}
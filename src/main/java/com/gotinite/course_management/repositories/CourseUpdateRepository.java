@@ -0,0 +1,12 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.models.CourseStatus;
+
+public interface CourseUpdateRepository {
+
+    void updateNameById(String name, Long id);
+
+    void updateStatusById(CourseStatus status, Long id);
+
+    void updateCreditsById(Integer credits, Long id);
+}
@@ -0,0 +1,45 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.models.Course;
+import com.gotinite.course_management.models.CourseStatus;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Bulk updates of cached courses. Hibernate clears a read-write region only after the updating
+ * transaction completes, so the updated course is also evicted right away.
+ */
+public class CourseUpdateRepositoryImpl implements CourseUpdateRepository {
+
+    private final EntityManager entityManager;
+
+    public CourseUpdateRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void updateNameById(String name, Long id) {
+        entityManager.createQuery("UPDATE Course c SET c.name = :name WHERE c.id = :id")
+                .setParameter("name", name)
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.getEntityManagerFactory().getCache().evict(Course.class, id);
+    }
+
+    @Override
+    public void updateStatusById(CourseStatus status, Long id) {
+        entityManager.createQuery("UPDATE Course c SET c.status = :status WHERE c.id = :id")
+                .setParameter("status", status)
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.getEntityManagerFactory().getCache().evict(Course.class, id);
+    }
+
+    @Override
+    public void updateCreditsById(Integer credits, Long id) {
+        entityManager.createQuery("UPDATE Course c SET c.credits = :credits WHERE c.id = :id")
+                .setParameter("credits", credits)
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.getEntityManagerFactory().getCache().evict(Course.class, id);
+    }
+}
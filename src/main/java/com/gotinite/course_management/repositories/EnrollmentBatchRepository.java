@@ -0,0 +1,10 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.models.EnrollmentStatus;
+
+import java.util.Collection;
+
+public interface EnrollmentBatchRepository {
+
+    void batchInsert(Long courseId, Collection<Long> studentIds, EnrollmentStatus status);
+}
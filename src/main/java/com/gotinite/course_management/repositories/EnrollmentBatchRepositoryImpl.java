@@ -0,0 +1,40 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.models.EnrollmentStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.PrimitiveIterator;
+
+public class EnrollmentBatchRepositoryImpl implements EnrollmentBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String INSERT_ENROLLMENT_SQL =
+            "INSERT INTO enrollments (id, status, course_id, student_id) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PooledLoSequence enrollmentIds;
+
+    public EnrollmentBatchRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        String nextId = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSelectSequenceNextValString("enrollments_seq");
+        this.enrollmentIds = new PooledLoSequence(jdbcTemplate, nextId);
+    }
+
+    @Override
+    public void batchInsert(Long courseId, Collection<Long> studentIds, EnrollmentStatus status) {
+        PrimitiveIterator.OfLong ids = enrollmentIds.reserve(studentIds.size());
+        jdbcTemplate.batchUpdate(INSERT_ENROLLMENT_SQL, studentIds, BATCH_SIZE, (ps, studentId) -> {
+            ps.setLong(1, ids.nextLong());
+            ps.setShort(2, status.code());
+            ps.setLong(3, courseId);
+            ps.setLong(4, studentId);
+        });
+    }
+}
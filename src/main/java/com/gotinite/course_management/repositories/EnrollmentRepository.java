@@ -1,26 +1,55 @@
 package com.gotinite.course_management.repositories;
 
+import com.gotinite.course_management.dtos.EnrollmentExportRow;
+import com.gotinite.course_management.dtos.EnrollmentView;
 import com.gotinite.course_management.models.Course;
 import com.gotinite.course_management.models.Enrollment;
+import com.gotinite.course_management.models.EnrollmentStatus;
 import com.gotinite.course_management.models.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>, EnrollmentBatchRepository {
 
     boolean existsByStudentAndCourse(Student student, Course course);
 
-    @Query("SELECT e FROM Enrollment e WHERE e.student.id = :id AND e.status = :status")
-    List<Enrollment> findByStatus(@Param("id") Long id, @Param("status") String status);
+    @Query("SELECT COUNT(e) > 0 FROM Enrollment e WHERE e.course.id = :courseId AND e.student.id = :studentId")
+    boolean existsByCourseIdAndStudentId(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
 
-    @Query("SELECT e FROM Enrollment e WHERE e.course.id = :id")
-    List<Enrollment> findEnrollmentsByCourseId(@Param("id") Long id);
+    @Query("SELECT new com.gotinite.course_management.dtos.EnrollmentView(e.id, e.status, c.name, s.email) " +
+            "FROM Enrollment e JOIN e.course c JOIN e.student s WHERE s.id = :id AND e.status = :status")
+    List<EnrollmentView> findByStatus(@Param("id") Long id, @Param("status") EnrollmentStatus status);
 
-    @Query("SELECT e FROM Enrollment e WHERE e.student.id = :id")
-    List<Enrollment> findEnrollmentsByStudentId(@Param("id") Long id);
+    @Query("SELECT new com.gotinite.course_management.dtos.EnrollmentView(e.id, e.status, c.name, s.email) " +
+            "FROM Enrollment e JOIN e.course c JOIN e.student s WHERE c.id = :id")
+    List<EnrollmentView> findEnrollmentsByCourseId(@Param("id") Long id);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.EnrollmentView(e.id, e.status, c.name, s.email) " +
+            "FROM Enrollment e JOIN e.course c JOIN e.student s WHERE s.id = :id")
+    List<EnrollmentView> findEnrollmentsByStudentId(@Param("id") Long id);
+
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course.id = :courseId AND e.student.id IN :studentIds")
+    List<Long> findEnrolledStudentIds(@Param("courseId") Long courseId,
+                                      @Param("studentIds") Collection<Long> studentIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.gotinite.course_management.dtos.EnrollmentExportRow(e.id, e.status, s.email, c.name, t.email, e.enrolledAt) " +
+            "FROM Enrollment e JOIN e.student s JOIN e.course c JOIN c.teacher t " +
+            "WHERE (:courseId IS NULL OR c.id = :courseId) AND (:teacherId IS NULL OR t.id = :teacherId) " +
+            "AND (:from IS NULL OR e.enrolledAt >= :from) AND (:to IS NULL OR e.enrolledAt < :to) ORDER BY e.id")
+    Stream<EnrollmentExportRow> streamForExport(@Param("courseId") Long courseId,
+                                                @Param("teacherId") Long teacherId,
+                                                @Param("from") Instant from,
+                                                @Param("to") Instant to);
 }
@@ -1,35 +1,97 @@
 package com.gotinite.course_management.repositories;
 
+import com.gotinite.course_management.dtos.GradeEntryCheck;
+import com.gotinite.course_management.dtos.GradeExportRow;
+import com.gotinite.course_management.dtos.GradeRankRow;
+import com.gotinite.course_management.dtos.GradeView;
+import com.gotinite.course_management.dtos.TranscriptTermRow;
 import com.gotinite.course_management.models.Course;
 import com.gotinite.course_management.models.Grade;
 import com.gotinite.course_management.models.Student;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GradeRepository extends JpaRepository<Grade, Long> {
 
     boolean existsByStudentAndCourse(Student student, Course course);
 
-    @Query("SELECT g FROM Grade g WHERE g.student.id = :id")
-    List<Grade> findByStudentId(@Param("id") Long id);
+    @Query("SELECT new com.gotinite.course_management.dtos.GradeEntryCheck(" +
+            "CASE WHEN c.teacher.id = :teacherId THEN true ELSE false END, " +
+            "CASE WHEN EXISTS (SELECT e.id FROM Enrollment e WHERE e.course.id = c.id AND e.student.id = :studentId) " +
+            "THEN true ELSE false END, " +
+            "CASE WHEN EXISTS (SELECT g.id FROM Grade g WHERE g.course.id = c.id AND g.student.id = :studentId) " +
+            "THEN true ELSE false END) " +
+            "FROM Course c WHERE c.id = :courseId")
+    Optional<GradeEntryCheck> checkGradeEntry(@Param("courseId") Long courseId,
+                                              @Param("studentId") Long studentId,
+                                              @Param("teacherId") Long teacherId);
 
-    @Query("SELECT g FROM Grade g WHERE g.course.id = :id")
-    List<Grade> findByCourseId(@Param("id") Long id);
+    @Query("SELECT g.student.id FROM Grade g WHERE g.course.id = :courseId AND g.student.id IN :studentIds")
+    List<Long> findGradedStudentIds(@Param("courseId") Long courseId,
+                                    @Param("studentIds") Collection<Long> studentIds);
 
-    @Query("SELECT g FROM Grade g WHERE g.teacher.id = :id")
-    List<Grade> findByTeacherId(@Param("id") Long id);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM Grade g WHERE g.id = :id")
+    Optional<Grade> findForUpdateById(@Param("id") Long id);
 
-    @Query("SELECT g FROM Grade g WHERE g.student.id = :studentId AND g.course.id = :courseId")
-    Optional<Grade> findByStudentIdAndCourseId(@Param("studentId") Long studentId,
+    @Query("SELECT new com.gotinite.course_management.dtos.GradeView(g.id, g.value, s.email, c.name, t.email) " +
+            "FROM Grade g JOIN g.student s JOIN g.course c JOIN g.teacher t WHERE s.id = :id")
+    List<GradeView> findByStudentId(@Param("id") Long id);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.GradeView(g.id, g.value, s.email, c.name, t.email) " +
+            "FROM Grade g JOIN g.student s JOIN g.course c JOIN g.teacher t WHERE c.id = :id")
+    List<GradeView> findByCourseId(@Param("id") Long id);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.GradeView(g.id, g.value, s.email, c.name, t.email) " +
+            "FROM Grade g JOIN g.student s JOIN g.course c JOIN g.teacher t WHERE t.id = :id")
+    List<GradeView> findByTeacherId(@Param("id") Long id);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.GradeView(g.id, g.value, s.email, c.name, t.email) " +
+            "FROM Grade g JOIN g.student s JOIN g.course c JOIN g.teacher t WHERE s.id = :studentId AND c.id = :courseId")
+    Optional<GradeView> findByStudentIdAndCourseId(@Param("studentId") Long studentId,
                                                @Param("courseId") Long courseId);
 
+    @Query("SELECT new com.gotinite.course_management.dtos.GradeRankRow(g.id, g.student.id, g.course.id, g.value) " +
+            "FROM Grade g WHERE g.id > :afterId ORDER BY g.id")
+    List<GradeRankRow> findRankRowsAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    // term 1 covers January to June and term 2 July to December of the year the grade was given
+    @Query("SELECT new com.gotinite.course_management.dtos.TranscriptTermRow(g.student.id, " +
+            "EXTRACT(YEAR FROM g.gradedAt), CASE WHEN EXTRACT(MONTH FROM g.gradedAt) <= 6 THEN 1 ELSE 2 END, " +
+            "COUNT(g), SUM(g.value), SUM(c.credits), SUM(g.value * c.credits)) " +
+            "FROM Grade g JOIN g.course c WHERE g.student.id IN :studentIds " +
+            "GROUP BY g.student.id, EXTRACT(YEAR FROM g.gradedAt), " +
+            "CASE WHEN EXTRACT(MONTH FROM g.gradedAt) <= 6 THEN 1 ELSE 2 END " +
+            "ORDER BY g.student.id, EXTRACT(YEAR FROM g.gradedAt), " +
+            "CASE WHEN EXTRACT(MONTH FROM g.gradedAt) <= 6 THEN 1 ELSE 2 END")
+    List<TranscriptTermRow> findTranscriptTerms(@Param("studentIds") Collection<Long> studentIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.gotinite.course_management.dtos.GradeExportRow(g.id, g.value, s.email, c.name, t.email, g.gradedAt) " +
+            "FROM Grade g JOIN g.student s JOIN g.course c JOIN g.teacher t " +
+            "WHERE (:courseId IS NULL OR c.id = :courseId) AND (:teacherId IS NULL OR t.id = :teacherId) " +
+            "AND (:from IS NULL OR g.gradedAt >= :from) AND (:to IS NULL OR g.gradedAt < :to) ORDER BY g.id")
+    Stream<GradeExportRow> streamForExport(@Param("courseId") Long courseId,
+                                           @Param("teacherId") Long teacherId,
+                                           @Param("from") Instant from,
+                                           @Param("to") Instant to);
+
     @Modifying
     @Query("UPDATE Grade g SET g.value = :value WHERE g.id = :id")
     void updateValueById(@Param("value") Double value, @Param("id") Long id);
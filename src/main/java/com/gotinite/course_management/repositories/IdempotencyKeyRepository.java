@@ -0,0 +1,46 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.dtos.IdempotentResponse;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<IdempotentResponse> findByKey(String key, Instant createdAfter) {
+        List<IdempotentResponse> responses = jdbcTemplate.query(
+                "SELECT fingerprint, status, content_type, body FROM idempotency_keys " +
+                        "WHERE idempotency_key = ? AND created_at > ?",
+                (rs, rowNum) -> new IdempotentResponse(rs.getString("fingerprint"), rs.getInt("status"),
+                        rs.getString("content_type"), rs.getBytes("body")),
+                key, Timestamp.from(createdAfter));
+        return responses.stream().findFirst();
+    }
+
+    // the first response stored under a key wins; a concurrent instance may have stored it already
+    public void save(String key, IdempotentResponse response) {
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, fingerprint, status, content_type, body) " +
+                            "VALUES (?, ?, ?, ?, ?)",
+                    key, response.fingerprint(), response.status(), response.contentType(), response.body());
+        } catch (DuplicateKeyException exception) {
+            // keep the stored response
+        }
+    }
+
+    public int deleteCreatedBefore(Instant createdBefore) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?", Timestamp.from(createdBefore));
+    }
+}
@@ -0,0 +1,190 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.dtos.ImportRowError;
+import com.gotinite.course_management.dtos.PersonImportRow;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Loads people into a transaction-scoped staging table and moves them into {@code students} or
+ * {@code teachers} with set-based statements. Must run inside a transaction.
+ */
+@Repository
+public class PersonImportRepository {
+
+    public enum Target {
+        STUDENTS("students", "students_seq"),
+        TEACHERS("teachers", "teachers_seq");
+
+        private final String table;
+        private final String sequence;
+
+        Target(String table, String sequence) {
+            this.table = table;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final DatabaseDriver databaseDriver;
+
+    public PersonImportRepository(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        try {
+            this.databaseDriver = DatabaseDriver.fromProductName(JdbcUtils.extractDatabaseMetaData(
+                    Objects.requireNonNull(jdbcTemplate.getDataSource()),
+                    DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException exception) {
+            throw new IllegalStateException("Cannot detect the database!", exception);
+        }
+    }
+
+    public void createStagingTable() {
+        // H2 commits the current transaction on DDL unless the temporary table is TRANSACTIONAL
+        jdbcTemplate.execute("CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS person_import (" +
+                "line_no BIGINT NOT NULL, first_name VARCHAR(255) NOT NULL, " +
+                "last_name VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL) ON COMMIT DROP" +
+                (databaseDriver == DatabaseDriver.H2 ? " TRANSACTIONAL" : ""));
+        jdbcTemplate.execute("CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS person_import_ids (" +
+                "block_no BIGINT NOT NULL, first_id BIGINT NOT NULL) ON COMMIT DROP" +
+                (databaseDriver == DatabaseDriver.H2 ? " TRANSACTIONAL" : ""));
+        jdbcTemplate.execute("DELETE FROM person_import");
+        jdbcTemplate.execute("DELETE FROM person_import_ids");
+    }
+
+    public long stage(Stream<PersonImportRow> rows) {
+        Long staged = jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+                databaseDriver == DatabaseDriver.POSTGRESQL
+                        ? copy(connection, rows.iterator())
+                        : insertBatches(connection, rows.iterator()));
+        return staged == null ? 0 : staged;
+    }
+
+    public List<ImportRowError> findConflicts(Target target, String error) {
+        return jdbcTemplate.query("SELECT s.line_no, s.email FROM person_import s " +
+                        "JOIN " + target.table + " p ON p.email = s.email ORDER BY s.line_no",
+                (rs, rowNum) -> new ImportRowError(rs.getLong(1), rs.getString(2), error));
+    }
+
+    /**
+     * Moves the staged people that are not in {@code target} yet. Every staged row gets an id from a
+     * pooled-lo block by its position, so {@code staged} ids cost one {@code nextval} per block; the
+     * ids of rows skipped as conflicts are left unused.
+     */
+    public int insertStaged(Target target, long staged) {
+        String nextId = databaseDriver == DatabaseDriver.POSTGRESQL
+                ? "nextval('" + target.sequence + "')"
+                : "NEXT VALUE FOR " + target.sequence;
+        List<Long> blocks = new PooledLoSequence(jdbcTemplate, nextId).reserveBlocks(staged);
+        jdbcTemplate.batchUpdate("INSERT INTO person_import_ids (block_no, first_id) VALUES (?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, i);
+                        ps.setLong(2, blocks.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return blocks.size();
+                    }
+                });
+        // Run through Hibernate with the target table as query space, so the insert evicts only that
+        // entity's second-level cache region; an unsynchronized native update would evict every region
+        return entityManager.createNativeQuery("INSERT INTO " + target.table + " (id, first_name, last_name, email) " +
+                        "SELECT b.first_id + MOD(s.rn - 1, " + PooledLoSequence.ALLOCATION_SIZE + "), " +
+                        "s.first_name, s.last_name, s.email FROM (" +
+                        "SELECT line_no, first_name, last_name, email, ROW_NUMBER() OVER (ORDER BY line_no) AS rn " +
+                        "FROM person_import) s " +
+                        "JOIN person_import_ids b " +
+                        "ON b.block_no = (s.rn - 1) / " + PooledLoSequence.ALLOCATION_SIZE + " " +
+                        "WHERE NOT EXISTS (SELECT 1 FROM " + target.table + " p WHERE p.email = s.email) " +
+                        "ORDER BY s.line_no")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(target.table)
+                .executeUpdate();
+    }
+
+    // Ids of the staged emails after insertStaged; includes rows that already existed
+    public List<Long> findImportedIds(Target target) {
+        return jdbcTemplate.queryForList("SELECT p.id FROM person_import s " +
+                "JOIN " + target.table + " p ON p.email = s.email", Long.class);
+    }
+
+    private static long copy(Connection connection, Iterator<PersonImportRow> rows) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                "COPY person_import (line_no, first_name, last_name, email) FROM STDIN WITH (FORMAT csv)");
+        long staged = 0;
+        try {
+            StringBuilder buffer = new StringBuilder();
+            while (rows.hasNext()) {
+                PersonImportRow row = rows.next();
+                buffer.append(row.line()).append(',')
+                        .append(quote(row.firstName())).append(',')
+                        .append(quote(row.lastName())).append(',')
+                        .append(quote(row.email())).append('\n');
+                if (++staged % BATCH_SIZE == 0) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            copyIn.endCopy();
+            return staged;
+        } finally {
+            if (copyIn.isActive()) copyIn.cancelCopy();
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static long insertBatches(Connection connection, Iterator<PersonImportRow> rows) throws SQLException {
+        long staged = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO person_import (line_no, first_name, last_name, email) VALUES (?, ?, ?, ?)")) {
+            while (rows.hasNext()) {
+                PersonImportRow row = rows.next();
+                statement.setLong(1, row.line());
+                statement.setString(2, row.firstName());
+                statement.setString(3, row.lastName());
+                statement.setString(4, row.email());
+                statement.addBatch();
+                if (++staged % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+        return staged;
+    }
+}
@@ -1,12 +1,17 @@
 package com.gotinite.course_management.repositories;
 
+import com.gotinite.course_management.dtos.StudentView;
 import com.gotinite.course_management.models.Student;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,17 +22,62 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     Optional<Student> findByEmail(String email);
 
-    List<Student> findByFirstName(String firstName);
+    @Query("SELECT s.id FROM Student s WHERE s.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
 
-    List<Student> findByLastName(String lastName);
+    @Query(value = "SELECT new com.gotinite.course_management.dtos.StudentView(s.id, s.firstName, s.lastName, s.email) " +
+            "FROM Student s",
+            countQuery = "SELECT COUNT(s) FROM Student s")
+    Page<StudentView> findAllViews(Pageable pageable);
 
-    @Query("SELECT s FROM Student s JOIN s.courses c WHERE c.id = :id")
-    List<Student> findByCourseId(@Param("id") Long id);
+    @Query("SELECT new com.gotinite.course_management.dtos.StudentView(s.id, s.firstName, s.lastName, s.email) " +
+            "FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<StudentView> findViewsAfterId(@Param("afterId") Long afterId, Limit limit);
 
-    @Query("SELECT s FROM Student s WHERE CONCAT(s.firstName, ' ', s.lastName) = :name")
-    List<Student> findByFullName(@Param("name") String name);
+    @Query("SELECT new com.gotinite.course_management.dtos.StudentView(s.id, s.firstName, s.lastName, s.email) " +
+            "FROM Student s WHERE s.id IN :ids")
+    List<StudentView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.StudentView(s.id, s.firstName, s.lastName, s.email) " +
+            "FROM Student s WHERE s.lastName >= :lastName AND (s.lastName > :lastName OR s.id > :afterId) " +
+            "ORDER BY s.lastName, s.id")
+    List<StudentView> findViewsAfterLastName(@Param("lastName") String lastName,
+                                             @Param("afterId") Long afterId,
+                                             Limit limit);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.StudentView(s.id, s.firstName, s.lastName, s.email) " +
+            "FROM Student s WHERE s.firstName = :firstName")
+    List<StudentView> findByFirstName(@Param("firstName") String firstName);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.StudentView(s.id, s.firstName, s.lastName, s.email) " +
+            "FROM Student s WHERE s.lastName = :lastName")
+    List<StudentView> findByLastName(@Param("lastName") String lastName);
+
+    @Query("SELECT s.id AS id, s.email AS email FROM Student s WHERE s.email IN :emails")
+    List<EmailKey> findKeysByEmailIn(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.StudentView(s.id, s.firstName, s.lastName, s.email) " +
+            "FROM Enrollment e JOIN e.student s WHERE e.course.id = :id")
+    List<StudentView> findByCourseId(@Param("id") Long id);
+
+    @Query("SELECT s.id AS id, s.email AS email FROM Enrollment e JOIN e.student s WHERE e.course.id = :id")
+    List<EmailKey> findKeysByCourseId(@Param("id") Long id);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.StudentView(s.id, s.firstName, s.lastName, s.email) " +
+            "FROM Student s WHERE s.searchName = :name")
+    List<StudentView> findByFullName(@Param("name") String name);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.StudentView(s.id, s.firstName, s.lastName, s.email) " +
+            "FROM Student s WHERE s.searchName LIKE :pattern ESCAPE '\\' ORDER BY s.searchName, s.id")
+    List<StudentView> findBySearchNamePrefix(@Param("pattern") String pattern, Limit limit);
 
     @Modifying
     @Query("UPDATE Student s SET s.email = :email WHERE s.id = :id")
     void updateEmailById(@Param("id") Long id, @Param("email") String email);
+
+    interface EmailKey {
+        Long getId();
+
+        String getEmail();
+    }
 }
@@ -0,0 +1,43 @@
+package com.gotinite.course_management.repositories;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+import java.util.Objects;
+
+@Repository
+public class TableStatisticsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDriver databaseDriver;
+
+    public TableStatisticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        try {
+            this.databaseDriver = DatabaseDriver.fromProductName(JdbcUtils.extractDatabaseMetaData(
+                    Objects.requireNonNull(jdbcTemplate.getDataSource()),
+                    DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException exception) {
+            throw new IllegalStateException("Cannot detect the database!", exception);
+        }
+    }
+
+    // planner statistics, refreshed by (auto)vacuum/analyze, so the value lags behind recent writes
+    public long approximateRowCount(String table) {
+        Long estimate = switch (databaseDriver) {
+            case POSTGRESQL -> jdbcTemplate.queryForObject(
+                    "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass(?)",
+                    Long.class, table);
+            case H2 -> jdbcTemplate.queryForObject(
+                    "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES " +
+                            "WHERE TABLE_SCHEMA = SCHEMA() AND UPPER(TABLE_NAME) = UPPER(?)",
+                    Long.class, table);
+            default -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        };
+        return estimate == null ? 0 : Math.max(estimate, 0);
+    }
+}
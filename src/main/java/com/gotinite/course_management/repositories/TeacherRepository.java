@@ -1,33 +1,66 @@
 package com.gotinite.course_management.repositories;
 
+import com.gotinite.course_management.dtos.TeacherView;
 import com.gotinite.course_management.models.Teacher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+public interface TeacherRepository extends JpaRepository<Teacher, Long>, TeacherUpdateRepository {
 
     boolean existsByEmail(String email);
 
     Optional<Teacher> findByEmail(String email);
 
-    List<Teacher> findByFirstName(String firstName);
+    @Query("SELECT t.id FROM Teacher t WHERE t.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
 
-    List<Teacher> findByLastName(String lastName);
+    @Query(value = "SELECT new com.gotinite.course_management.dtos.TeacherView(t.id, t.firstName, t.lastName, t.email) " +
+            "FROM Teacher t",
+            countQuery = "SELECT COUNT(t) FROM Teacher t")
+    Page<TeacherView> findAllViews(Pageable pageable);
 
-    @Query("SELECT t FROM Teacher t WHERE CONCAT(t.firstName, ' ', t.lastName) = :name")
-    List<Teacher> findByFullName(@Param("name") String name);
+    @Query("SELECT new com.gotinite.course_management.dtos.TeacherView(t.id, t.firstName, t.lastName, t.email) " +
+            "FROM Teacher t WHERE t.id > :afterId ORDER BY t.id")
+    List<TeacherView> findViewsAfterId(@Param("afterId") Long afterId, Limit limit);
 
-    @Query("SELECT t FROM Teacher t JOIN t.courses c WHERE c.id = :id")
-    Optional<Teacher> findByCourseId(@Param("id") Long id);
+    @Query("SELECT new com.gotinite.course_management.dtos.TeacherView(t.id, t.firstName, t.lastName, t.email) " +
+            "FROM Teacher t WHERE t.id IN :ids")
+    List<TeacherView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Modifying
-    @Query("UPDATE Teacher t SET t.email = :email WHERE t.id = :id")
-    void updateEmailById(@Param("email") String email, @Param("id") Long id);
+    @Query("SELECT new com.gotinite.course_management.dtos.TeacherView(t.id, t.firstName, t.lastName, t.email) " +
+            "FROM Teacher t WHERE t.lastName >= :lastName AND (t.lastName > :lastName OR t.id > :afterId) " +
+            "ORDER BY t.lastName, t.id")
+    List<TeacherView> findViewsAfterLastName(@Param("lastName") String lastName,
+                                             @Param("afterId") Long afterId,
+                                             Limit limit);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.TeacherView(t.id, t.firstName, t.lastName, t.email) " +
+            "FROM Teacher t WHERE t.firstName = :firstName")
+    List<TeacherView> findByFirstName(@Param("firstName") String firstName);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.TeacherView(t.id, t.firstName, t.lastName, t.email) " +
+            "FROM Teacher t WHERE t.lastName = :lastName")
+    List<TeacherView> findByLastName(@Param("lastName") String lastName);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.TeacherView(t.id, t.firstName, t.lastName, t.email) " +
+            "FROM Teacher t WHERE t.searchName = :name")
+    List<TeacherView> findByFullName(@Param("name") String name);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.TeacherView(t.id, t.firstName, t.lastName, t.email) " +
+            "FROM Teacher t WHERE t.searchName LIKE :pattern ESCAPE '\\' ORDER BY t.searchName, t.id")
+    List<TeacherView> findBySearchNamePrefix(@Param("pattern") String pattern, Limit limit);
+
+    @Query("SELECT new com.gotinite.course_management.dtos.TeacherView(t.id, t.firstName, t.lastName, t.email) " +
+            "FROM Course c JOIN c.teacher t WHERE c.id = :id")
+    Optional<TeacherView> findByCourseId(@Param("id") Long id);
 }
@@ -0,0 +1,6 @@
+package com.gotinite.course_management.repositories;
+
+public interface TeacherUpdateRepository {
+
+    void updateEmailById(String email, Long id);
+}
@@ -0,0 +1,26 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.models.Teacher;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Bulk updates of cached teachers. Hibernate clears a read-write region only after the updating
+ * transaction completes, so the updated teacher is also evicted right away.
+ */
+public class TeacherUpdateRepositoryImpl implements TeacherUpdateRepository {
+
+    private final EntityManager entityManager;
+
+    public TeacherUpdateRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void updateEmailById(String email, Long id) {
+        entityManager.createQuery("UPDATE Teacher t SET t.email = :email WHERE t.id = :id")
+                .setParameter("email", email)
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.getEntityManagerFactory().getCache().evict(Teacher.class, id);
+    }
+}
@@ -0,0 +1,142 @@
+package com.gotinite.course_management.search;
+
+import com.gotinite.course_management.dtos.StudentView;
+import com.gotinite.course_management.dtos.TeacherView;
+import com.gotinite.course_management.repositories.StudentRepository;
+import com.gotinite.course_management.repositories.TeacherRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fuzzy student and teacher lookups by name and email, served from trigram indexes that are built
+ * at startup and kept current after each committed write.
+ */
+@Slf4j
+@Component
+public class NameSearchIndex {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final TrigramIndex<StudentView> students;
+    private final TrigramIndex<TeacherView> teachers;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+
+    public NameSearchIndex(StudentRepository studentRepository,
+                           TeacherRepository teacherRepository,
+                           @Value("${search.fuzzy.minimum-similarity:0.4}") double minimumSimilarity) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.students = new TrigramIndex<>(minimumSimilarity);
+        this.teachers = new TrigramIndex<>(minimumSimilarity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        students.clear();
+        teachers.clear();
+        load(studentRepository::findViewsAfterId, StudentView::id, this::put);
+        load(teacherRepository::findViewsAfterId, TeacherView::id, this::put);
+        log.info("Indexed {} students and {} teachers for name search in {} ms.",
+                students.size(), teachers.size(), System.currentTimeMillis() - start);
+    }
+
+    public List<StudentView> searchStudents(String query, int limit) {
+        return students.search(query, limit);
+    }
+
+    public List<TeacherView> searchTeachers(String query, int limit) {
+        return teachers.search(query, limit);
+    }
+
+    public void indexStudent(StudentView student) {
+        afterCommit(() -> put(student));
+    }
+
+    public void indexTeacher(TeacherView teacher) {
+        afterCommit(() -> put(teacher));
+    }
+
+    public void removeStudent(Long id) {
+        afterCommit(() -> students.remove(id));
+    }
+
+    public void removeTeacher(Long id) {
+        afterCommit(() -> teachers.remove(id));
+    }
+
+    /**
+     * Re-reads rows written without going through JPA (bulk updates, imports). Must run inside
+     * the writing transaction; the index is updated once it commits.
+     */
+    public void reindexStudents(Collection<Long> ids) {
+        List<StudentView> views = new ArrayList<>(ids.size());
+        forEachChunk(ids, chunk -> views.addAll(studentRepository.findViewsByIdIn(chunk)));
+        afterCommit(() -> views.forEach(this::put));
+    }
+
+    public void reindexTeachers(Collection<Long> ids) {
+        List<TeacherView> views = new ArrayList<>(ids.size());
+        forEachChunk(ids, chunk -> views.addAll(teacherRepository.findViewsByIdIn(chunk)));
+        afterCommit(() -> views.forEach(this::put));
+    }
+
+    private void put(StudentView student) {
+        students.put(student.id(), student,
+                student.firstName() + " " + student.lastName(), localPart(student.email()));
+    }
+
+    private void put(TeacherView teacher) {
+        teachers.put(teacher.id(), teacher,
+                teacher.firstName() + " " + teacher.lastName(), localPart(teacher.email()));
+    }
+
+    private static String localPart(String email) {
+        int at = email.indexOf('@');
+        return at < 0 ? email : email.substring(0, at);
+    }
+
+    private static <T> void load(BiFunction<Long, Limit, List<T>> page, Function<T, Long> id, Consumer<T> index) {
+        List<T> batch;
+        Long afterId = 0L;
+        do {
+            batch = page.apply(afterId, Limit.of(BATCH_SIZE));
+            batch.forEach(index);
+            if (!batch.isEmpty()) afterId = id.apply(batch.getLast());
+        } while (batch.size() == BATCH_SIZE);
+    }
+
+    private static void forEachChunk(Collection<Long> ids, Consumer<List<Long>> action) {
+        List<Long> list = List.copyOf(ids);
+        for (int from = 0; from < list.size(); from += BATCH_SIZE) {
+            action.accept(list.subList(from, Math.min(from + BATCH_SIZE, list.size())));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
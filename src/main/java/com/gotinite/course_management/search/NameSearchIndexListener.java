@@ -0,0 +1,48 @@
+package com.gotinite.course_management.search;
+
+import com.gotinite.course_management.dtos.StudentView;
+import com.gotinite.course_management.dtos.TeacherView;
+import com.gotinite.course_management.models.Student;
+import com.gotinite.course_management.models.Teacher;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener for {@link Student} and {@link Teacher}. Instantiated by Hibernate through
+ * Spring, so the index is looked up lazily and is simply absent in slice tests.
+ */
+public class NameSearchIndexListener {
+
+    private final ObjectProvider<NameSearchIndex> nameSearchIndex;
+
+    public NameSearchIndexListener(ObjectProvider<NameSearchIndex> nameSearchIndex) {
+        this.nameSearchIndex = nameSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void saved(Object entity) {
+        nameSearchIndex.ifAvailable(index -> {
+            if (entity instanceof Student student) {
+                index.indexStudent(new StudentView(student.getId(), student.getFirstName(),
+                        student.getLastName(), student.getEmail()));
+            } else if (entity instanceof Teacher teacher) {
+                index.indexTeacher(new TeacherView(teacher.getId(), teacher.getFirstName(),
+                        teacher.getLastName(), teacher.getEmail()));
+            }
+        });
+    }
+
+    @PostRemove
+    void removed(Object entity) {
+        nameSearchIndex.ifAvailable(index -> {
+            if (entity instanceof Student student) {
+                index.removeStudent(student.getId());
+            } else if (entity instanceof Teacher teacher) {
+                index.removeTeacher(teacher.getId());
+            }
+        });
+    }
+}
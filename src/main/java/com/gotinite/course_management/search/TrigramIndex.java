@@ -0,0 +1,279 @@
+package com.gotinite.course_management.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram inverted index. Every field of an entry is split into the trigrams of its
+ * padded, lower-cased words (as pg_trgm does) and gets a slot; posting lists hold ascending slot
+ * numbers in plain int arrays. Removed slots are skipped by lookups and dropped once they outnumber
+ * the live ones.
+ * <p>
+ * Matches are ranked by the share of the query's trigrams found in the best field, then by the
+ * trigram similarity of that field, so partial and misspelled names both rank sensibly.
+ */
+public class TrigramIndex<T> {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_COMPACTION = 1024;
+
+    private final double minimumSimilarity;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+    private long[] slotIds = new long[64];
+    private int[] slotSizes = new int[64];
+    private int slotCount;
+    private int removedSlots;
+
+    public TrigramIndex(double minimumSimilarity) {
+        this.minimumSimilarity = minimumSimilarity;
+    }
+
+    public void put(long id, T value, String... fields) {
+        lock.writeLock().lock();
+        try {
+            removeSlots(entries.remove(id));
+            int[] slots = new int[fields.length];
+            int used = 0;
+            for (String field : fields) {
+                long[] trigrams = trigrams(field);
+                if (trigrams.length == 0) continue;
+                int slot = newSlot(id, trigrams.length);
+                for (long trigram : trigrams) {
+                    postings.computeIfAbsent(trigram, key -> new Postings()).add(slot);
+                }
+                slots[used++] = slot;
+            }
+            entries.put(id, new Entry<>(value, Arrays.copyOf(slots, used)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeSlots(entries.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            entries.clear();
+            slotCount = 0;
+            removedSlots = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<T> search(String query, int limit) {
+        long[] trigrams = trigrams(query);
+        if (trigrams.length == 0 || limit < 1) return List.of();
+
+        lock.readLock().lock();
+        try {
+            SlotCounts shared = new SlotCounts();
+            for (long trigram : trigrams) {
+                Postings list = postings.get(trigram);
+                if (list == null) continue;
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (slotSizes[slot] != 0) shared.increment(slot);
+                }
+            }
+
+            Map<Long, Match> best = new HashMap<>();
+            for (int i = 0; i < shared.size; i++) {
+                int slot = shared.slots[i];
+                int count = shared.counts[i];
+                double coverage = (double) count / trigrams.length;
+                if (coverage < minimumSimilarity) continue;
+                double similarity = (double) count / (trigrams.length + slotSizes[slot] - count);
+                Match match = new Match(slotIds[slot], coverage, similarity);
+                best.merge(match.id(), match, (left, right) -> Match.ORDER.compare(left, right) <= 0 ? left : right);
+            }
+
+            List<T> results = new ArrayList<>(Math.min(limit, best.size()));
+            best.values().stream()
+                    .sorted(Match.ORDER)
+                    .limit(limit)
+                    .forEach(match -> results.add(entries.get(match.id()).value()));
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long[] trigrams(String text) {
+        if (text == null) return new long[0];
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        long[] trigrams = new long[normalized.length() * 2 + 2];
+        int count = 0;
+        for (String word : SEPARATORS.split(normalized)) {
+            if (word.isEmpty()) continue;
+            String padded = "  " + word + " ";
+            if (count + padded.length() > trigrams.length) {
+                trigrams = Arrays.copyOf(trigrams, (count + padded.length()) * 2);
+            }
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams[count++] = ((long) padded.charAt(i) << 32)
+                        | ((long) padded.charAt(i + 1) << 16)
+                        | padded.charAt(i + 2);
+            }
+        }
+        if (count == 0) return new long[0];
+
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 1;
+        for (int i = 1; i < count; i++) {
+            if (trigrams[i] != trigrams[distinct - 1]) trigrams[distinct++] = trigrams[i];
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private int newSlot(long id, int trigramCount) {
+        if (slotCount == slotIds.length) {
+            slotIds = Arrays.copyOf(slotIds, slotCount * 2);
+            slotSizes = Arrays.copyOf(slotSizes, slotCount * 2);
+        }
+        slotIds[slotCount] = id;
+        slotSizes[slotCount] = trigramCount;
+        return slotCount++;
+    }
+
+    private void removeSlots(Entry<T> entry) {
+        if (entry == null) return;
+        for (int slot : entry.slots()) {
+            slotSizes[slot] = 0;
+        }
+        removedSlots += entry.slots().length;
+        if (removedSlots >= MIN_COMPACTION && removedSlots > slotCount - removedSlots) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int[] renumbered = new int[slotCount];
+        int live = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (slotSizes[slot] == 0) {
+                renumbered[slot] = -1;
+                continue;
+            }
+            renumbered[slot] = live;
+            slotIds[live] = slotIds[slot];
+            slotSizes[live] = slotSizes[slot];
+            live++;
+        }
+
+        postings.values().removeIf(list -> {
+            int kept = 0;
+            for (int i = 0; i < list.size; i++) {
+                int slot = renumbered[list.slots[i]];
+                if (slot >= 0) list.slots[kept++] = slot;
+            }
+            list.size = kept;
+            return kept == 0;
+        });
+        entries.replaceAll((id, entry) -> new Entry<>(entry.value(),
+                Arrays.stream(entry.slots()).map(slot -> renumbered[slot]).toArray()));
+        slotCount = live;
+        removedSlots = 0;
+    }
+
+    private record Entry<T>(T value, int[] slots) {
+    }
+
+    private record Match(long id, double coverage, double similarity) {
+
+        static final Comparator<Match> ORDER = Comparator.comparingDouble(Match::coverage).reversed()
+                .thenComparing(Comparator.comparingDouble(Match::similarity).reversed())
+                .thenComparingLong(Match::id);
+    }
+
+    /**
+     * Per-query counts of shared trigrams for the touched slots only, in an open-addressing table,
+     * so a lookup costs the postings it reads rather than the size of the index.
+     */
+    private static final class SlotCounts {
+
+        private int[] table = new int[64];
+        private int[] slots = new int[32];
+        private int[] counts = new int[32];
+        private int size;
+
+        void increment(int slot) {
+            int mask = table.length - 1;
+            int index = mix(slot) & mask;
+            while (table[index] != 0) {
+                int entry = table[index] - 1;
+                if (slots[entry] == slot) {
+                    counts[entry]++;
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            slots[size] = slot;
+            counts[size] = 1;
+            table[index] = ++size;
+            if (size * 2 > table.length) rehash();
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int entry = 0; entry < size; entry++) {
+                int index = mix(slots[entry]) & mask;
+                while (table[index] != 0) index = (index + 1) & mask;
+                table[index] = entry + 1;
+            }
+        }
+
+        private static int mix(int slot) {
+            int hash = slot * 0x9E3779B9;
+            return hash ^ hash >>> 16;
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+            slots[size++] = slot;
+        }
+    }
+}
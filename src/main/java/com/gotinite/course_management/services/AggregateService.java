@@ -0,0 +1,73 @@
+package com.gotinite.course_management.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotinite.course_management.dtos.KeysetPage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Streams several keyset-paged lists as one JSON document. The lists are read in parallel on the
+ * {@link FanOutExecutor}, each list one page ahead of the writer.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AggregateService {
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final ObjectMapper objectMapper;
+    private final FanOutExecutor fanOutExecutor;
+
+    public void writeStudentsAndCourses(OutputStream out, int pageSize) throws IOException {
+        if (pageSize < 1) throw new IllegalArgumentException("The page size must be positive!");
+        Function<String, KeysetPage<?>> students = cursor -> studentService.getStudentsAfter(cursor, pageSize, "id");
+        Function<String, KeysetPage<?>> courses = cursor -> courseService.getCoursesAfter(cursor, pageSize, "id");
+        CompletableFuture<KeysetPage<?>> firstStudents = fetch(students, "");
+        CompletableFuture<KeysetPage<?>> firstCourses = fetch(courses, "");
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            writePages(generator, "students", students, firstStudents);
+            writePages(generator, "courses", courses, firstCourses);
+            generator.writeEndObject();
+        }
+    }
+
+    private void writePages(JsonGenerator generator, String field,
+                            Function<String, KeysetPage<?>> reader,
+                            CompletableFuture<KeysetPage<?>> first) throws IOException {
+        generator.writeArrayFieldStart(field);
+        CompletableFuture<KeysetPage<?>> pending = first;
+        while (pending != null) {
+            KeysetPage<?> page = join(pending);
+            pending = page.nextCursor() == null ? null : fetch(reader, page.nextCursor());
+            for (Object row : page.content()) {
+                generator.writeObject(row);
+            }
+            generator.flush();
+        }
+        generator.writeEndArray();
+    }
+
+    private CompletableFuture<KeysetPage<?>> fetch(Function<String, KeysetPage<?>> reader, String cursor) {
+        return fanOutExecutor.supply(() -> reader.apply(cursor));
+    }
+
+    private static KeysetPage<?> join(CompletableFuture<KeysetPage<?>> page) {
+        try {
+            return page.join();
+        } catch (CompletionException exception) {
+            log.error("Fetching a page failed.", exception.getCause());
+            throw exception.getCause() instanceof RuntimeException cause ? cause : exception;
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package com.gotinite.course_management.services;
 
+import com.gotinite.course_management.cache.NaturalKeyCache;
+import com.gotinite.course_management.cache.TranscriptCache;
 import com.gotinite.course_management.dtos.CourseDto;
+import com.gotinite.course_management.dtos.CourseView;
+import com.gotinite.course_management.dtos.KeysetCursor;
+import com.gotinite.course_management.dtos.KeysetPage;
+import com.gotinite.course_management.exceptions.ConflictException;
+import com.gotinite.course_management.exceptions.InvalidRequestException;
 import com.gotinite.course_management.mappers.CourseMapper;
 import com.gotinite.course_management.models.Course;
-import com.gotinite.course_management.models.Student;
-import com.gotinite.course_management.models.Teacher;
+import com.gotinite.course_management.models.CourseEnrollmentStats;
+import com.gotinite.course_management.models.CourseGradeStats;
+import com.gotinite.course_management.models.CourseStatus;
+import com.gotinite.course_management.monitoring.FailureReason;
+import com.gotinite.course_management.repositories.CourseEnrollmentStatsRepository;
+import com.gotinite.course_management.repositories.CourseGradeStatsRepository;
 import com.gotinite.course_management.repositories.CourseRepository;
-import com.gotinite.course_management.repositories.StudentRepository;
+import com.gotinite.course_management.repositories.TableStatisticsRepository;
 import com.gotinite.course_management.repositories.TeacherRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @Slf4j
@@ -26,39 +37,46 @@ public class CourseService {
 
     private final CourseMapper courseMapper;
     private final CourseRepository courseRepository;
+    private final TableStatisticsRepository tableStatisticsRepository;
     private final TeacherRepository teacherRepository;
-    private final StudentRepository studentRepository;
+    private final NaturalKeyCache naturalKeyCache;
+    private final CourseGradeStatsRepository courseGradeStatsRepository;
+    private final CourseEnrollmentStatsRepository courseEnrollmentStatsRepository;
+    private final TranscriptCache transcriptCache;
 
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    public Page<CourseView> getAllCourses(Pageable pageable) {
+        return courseRepository.findAllViews(pageable);
     }
 
-    public Page<Course> getAllCourses(Pageable pageable) {
-        return courseRepository.findAll(pageable);
+    public KeysetPage<CourseView> getCoursesAfter(String cursor, int size, String sort) {
+        if (size < 1) throw new IllegalArgumentException("The page size must be positive!");
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        return switch (sort.toLowerCase()) {
+            case "id" -> KeysetPage.of(courseRepository.findViewsAfterId(after.id(), limit), size,
+                    course -> new KeysetCursor(course.id(), null));
+            default -> throw new IllegalArgumentException("Unsupported sort!");
+        };
     }
 
-    public List<Course> getCoursesByStatus(String status) {
-        return courseRepository.findByStatus(status);
+    public long getApproximateCourseCount() {
+        return tableStatisticsRepository.approximateRowCount("courses");
     }
 
-    public List<Course> getCoursesByTeacher(String email) {
-        Optional<Teacher> teacher = teacherRepository.findByEmail(email);
-        if (teacher.isPresent()) {
-            Long id = teacher.get().getId();
-            return courseRepository.findByTeacherId(id);
-        } else {
-            throw new IllegalArgumentException("Teacher not found!");
-        }
+    public List<CourseView> getCoursesByStatus(String status) {
+        return courseRepository.findByStatus(CourseStatus.of(status));
     }
 
-    public List<Course> getCoursesByStudent(String email) {
-        Optional<Student> student = studentRepository.findByEmail(email);
-        if (student.isPresent()) {
-            Long id = student.get().getId();
-            return courseRepository.findByStudentId(id);
-        } else {
-            throw new IllegalArgumentException("Student not found!");
-        }
+    public List<CourseView> getCoursesByTeacher(String email) {
+        Long id = naturalKeyCache.teacherId(email)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Teacher not found!"));
+        return courseRepository.findByTeacherId(id);
+    }
+
+    public List<CourseView> getCoursesByStudent(String email) {
+        Long id = naturalKeyCache.studentId(email)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Student not found!"));
+        return courseRepository.findByStudentId(id);
     }
 
     @Transactional
@@ -68,18 +86,14 @@ public class CourseService {
         } else if (name.trim().isEmpty()) {
             throw new IllegalArgumentException("The name cannot be empty!");
         } else if (courseRepository.existsByName(name)) {
-            throw new IllegalStateException("A course with this name already exists!");
+            throw new ConflictException(FailureReason.DUPLICATE, "A course with this name already exists!");
         }
 
-        Optional<Course> course = courseRepository.findByName(dto.name());
-
-        if (course.isPresent()) {
-            Long id = course.get().getId();
-            log.info("Updating name of course with id: {}", id);
-            courseRepository.updateNameById(name, id);
-        } else {
-            throw new IllegalStateException("Course not found!");
-        }
+        Long id = naturalKeyCache.courseId(dto.name())
+                .orElseThrow(() -> new ConflictException(FailureReason.NOT_FOUND, "Course not found!"));
+        log.info("Updating name of course with id: {}", id);
+        courseRepository.updateNameById(name, id);
+        naturalKeyCache.evictCourse(dto.name());
     }
 
     @Transactional
@@ -89,41 +103,70 @@ public class CourseService {
         } else if (status.trim().isEmpty()) {
             throw new IllegalArgumentException("The status cannot be empty!");
         }
+        CourseStatus courseStatus = CourseStatus.of(status);
 
-        Optional<Course> course = courseRepository.findByName(dto.name());
+        Long id = naturalKeyCache.courseId(dto.name())
+                .orElseThrow(() -> new ConflictException(FailureReason.NOT_FOUND, "Course not found!"));
+        log.info("Updating status of course with id: {}", id);
+        courseRepository.updateStatusById(courseStatus, id);
+    }
 
-        if (course.isPresent()) {
-            Long id = course.get().getId();
-            log.info("Updating status of course with id: {}", id);
-            courseRepository.updateStatusById(status, id);
-        } else {
-            throw new IllegalStateException("Course not found!");
+    @Transactional
+    public void updateCourseCapacity(Integer capacity, CourseDto dto) {
+        if (capacity != null && capacity < 0) {
+            throw new IllegalArgumentException("The capacity cannot be negative!");
         }
+
+        Long id = naturalKeyCache.courseId(dto.name())
+                .orElseThrow(() -> new ConflictException(FailureReason.NOT_FOUND, "Course not found!"));
+        log.info("Updating capacity of course with id: {}", id);
+        if (!courseRepository.updateCapacityById(capacity, id)) {
+            throw new IllegalArgumentException("The capacity cannot be lower than the number of enrolled students!");
+        }
+    }
+
+    @Transactional
+    public void updateCourseCredits(Integer credits, CourseDto dto) {
+        if (credits == null || credits < 1) {
+            throw new IllegalArgumentException("The credits must be positive!");
+        }
+
+        Long id = naturalKeyCache.courseId(dto.name())
+                .orElseThrow(() -> new ConflictException(FailureReason.NOT_FOUND, "Course not found!"));
+        log.info("Updating credits of course with id: {}", id);
+        courseRepository.updateCreditsById(credits, id);
+        // every transcript with a grade in the course is weighted differently now
+        transcriptCache.evictAll();
     }
 
     @Transactional
     public Course createCourse(CourseDto dto) {
         if (dto == null) throw new IllegalArgumentException();
+        if (dto.credits() != null && dto.credits() < 1) {
+            throw new IllegalArgumentException("The credits must be positive!");
+        }
         if (courseRepository.existsByName(dto.name())) {
-            throw new IllegalStateException("A course with this name already exists!");
+            throw new ConflictException(FailureReason.DUPLICATE, "A course with this name already exists!");
         }
         log.info("Creating a new course: {}", dto);
         Course newCourse = courseMapper.convertDtoToEntity(dto);
-        return courseRepository.saveAndFlush(newCourse);
+        Course course = courseRepository.saveAndFlush(newCourse);
+        courseGradeStatsRepository.save(new CourseGradeStats(course.getId()));
+        courseEnrollmentStatsRepository.save(new CourseEnrollmentStats(course.getId()));
+        return course;
     }
 
+    @Transactional
     public Course assignCourseToTeacher(String courseName, String teacherEmail) {
-        Optional<Course> dbObjCourse = courseRepository.findByName(courseName);
-        Course course = dbObjCourse.orElseThrow(() ->
-                new IllegalArgumentException("Course not found!"));
+        Course course = naturalKeyCache.courseId(courseName)
+                .flatMap(courseRepository::findById)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
         if (course.getTeacher() != null) {
-            throw new IllegalArgumentException("A course is already assigned to a teacher!");
+            throw new InvalidRequestException(FailureReason.NOT_ALLOWED, "A course is already assigned to a teacher!");
         }
-        Optional<Teacher> dbObjTeacher = teacherRepository.findByEmail(teacherEmail);
-        Teacher teacher = dbObjTeacher.orElseThrow(() ->
-                new IllegalArgumentException("Teacher not found!"));
-        course.setTeacher(teacher);
-        teacher.getCourses().add(course);
+        Long teacherId = naturalKeyCache.teacherId(teacherEmail)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Teacher not found!"));
+        course.setTeacher(teacherRepository.getReferenceById(teacherId));
         return courseRepository.saveAndFlush(course);
     }
 }
@@ -1,8 +1,17 @@
 package com.gotinite.course_management.services;
 
-import com.gotinite.course_management.models.Course;
+import com.gotinite.course_management.cache.NaturalKeyCache;
+import com.gotinite.course_management.dtos.BulkEnrollmentDto;
+import com.gotinite.course_management.dtos.CourseEnrollmentStatsView;
+import com.gotinite.course_management.dtos.EnrollmentOutcome;
+import com.gotinite.course_management.dtos.EnrollmentResult;
+import com.gotinite.course_management.dtos.EnrollmentView;
+import com.gotinite.course_management.exceptions.ConflictException;
+import com.gotinite.course_management.exceptions.InvalidRequestException;
 import com.gotinite.course_management.models.Enrollment;
-import com.gotinite.course_management.models.Student;
+import com.gotinite.course_management.models.EnrollmentStatus;
+import com.gotinite.course_management.monitoring.FailureReason;
+import com.gotinite.course_management.repositories.CourseEnrollmentStatsRepository;
 import com.gotinite.course_management.repositories.CourseRepository;
 import com.gotinite.course_management.repositories.EnrollmentRepository;
 import com.gotinite.course_management.repositories.StudentRepository;
@@ -11,8 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @Slf4j
@@ -20,58 +28,128 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class EnrollmentService {
 
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
     private final CourseRepository courseRepository;
     private final StudentRepository studentRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final NaturalKeyCache naturalKeyCache;
+    private final CourseEnrollmentStatsRepository courseEnrollmentStatsRepository;
 
-    public List<Enrollment> getEnrollmentsByStatus(String status, String email) {
-        Optional<Student> student = studentRepository.findByEmail(email);
-        if (student.isPresent()) {
-            Long id = student.get().getId();
-            return enrollmentRepository.findByStatus(id, status);
-        } else {
-            throw new IllegalArgumentException("Student not found!");
-        }
+    public List<EnrollmentView> getEnrollmentsByStatus(String status, String email) {
+        Long id = naturalKeyCache.studentId(email)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Student not found!"));
+        return enrollmentRepository.findByStatus(id, EnrollmentStatus.of(status));
     }
 
-    public List<Enrollment> getEnrollmentsByCourse(String name) {
-        Optional<Course> course = courseRepository.findByName(name);
-        if (course.isPresent()) {
-            Long id = course.get().getId();
-            return enrollmentRepository.findEnrollmentsByCourseId(id);
-        } else {
-            throw new IllegalArgumentException("Course not found!");
-        }
+    public List<EnrollmentView> getEnrollmentsByCourse(String name) {
+        Long id = naturalKeyCache.courseId(name)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        return enrollmentRepository.findEnrollmentsByCourseId(id);
     }
 
-    public List<Enrollment> getEnrollmentsByStudent(String email) {
-        Optional<Student> student = studentRepository.findByEmail(email);
-        if (student.isPresent()) {
-            Long id = student.get().getId();
-            return enrollmentRepository.findEnrollmentsByStudentId(id);
-        } else {
-            throw new IllegalArgumentException("Student not found!");
-        }
+    public Optional<CourseEnrollmentStatsView> getStatsByCourse(String name) {
+        Long id = naturalKeyCache.courseId(name)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        return courseEnrollmentStatsRepository.findViewByCourseId(id);
+    }
+
+    public List<EnrollmentView> getEnrollmentsByStudent(String email) {
+        Long id = naturalKeyCache.studentId(email)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Student not found!"));
+        return enrollmentRepository.findEnrollmentsByStudentId(id);
     }
 
     @Transactional
     public Enrollment enrollStudentToCourse(String courseName, String studentEmail) {
-        Optional<Course> dbObjCourse = courseRepository.findByName(courseName);
-        Optional<Student> dbObjStudent = studentRepository.findByEmail(studentEmail);
-        Course course = dbObjCourse.orElseThrow(() ->
-                new IllegalArgumentException("Course not found!"));
-        Student student = dbObjStudent.orElseThrow(() ->
-                new IllegalArgumentException("Student not found!"));
-
-        if (enrollmentRepository.existsByStudentAndCourse(student, course)) {
-            throw new IllegalStateException("Student is already enrolled in this course!");
+        Long courseId = naturalKeyCache.courseId(courseName)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        Long studentId = naturalKeyCache.studentId(studentEmail)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Student not found!"));
+
+        if (enrollmentRepository.existsByCourseIdAndStudentId(courseId, studentId)) {
+            throw new ConflictException(FailureReason.DUPLICATE, "Student is already enrolled in this course!");
         }
 
-        Enrollment enrollment = new Enrollment("Completed", course, student);
-        course.getEnrollments().add(enrollment);
-        student.getEnrollments().add(enrollment);
-        course.getStudents().add(student);
-        student.getCourses().add(course);
-        return enrollmentRepository.save(enrollment);
+        // only the owning side is written, so neither roster collection gets initialized
+        Enrollment enrollment = enrollmentRepository.save(new Enrollment(EnrollmentStatus.ACTIVE,
+                courseRepository.getReferenceById(courseId),
+                studentRepository.getReferenceById(studentId)));
+        // the seat is taken last, so the course row stays locked only until the insert commits
+        if (!courseRepository.reserveSeat(courseId)) {
+            throw new ConflictException(FailureReason.COURSE_FULL, "The course is full!");
+        }
+        addToStats(courseId, 1);
+        return enrollment;
+    }
+
+    @Transactional
+    public List<EnrollmentResult> enrollStudentsToCourse(BulkEnrollmentDto dto) {
+        if (dto == null || dto.studentEmails() == null) throw new IllegalArgumentException();
+        Long courseId = naturalKeyCache.courseId(dto.courseName())
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+
+        Set<String> emails = new HashSet<>(dto.studentEmails());
+        emails.remove(null);
+        Map<String, Long> studentIds = new HashMap<>();
+        Set<Long> enrolledIds = new HashSet<>();
+        for (List<String> chunk : chunks(new ArrayList<>(emails))) {
+            List<Long> chunkIds = new ArrayList<>();
+            for (StudentRepository.EmailKey key : studentRepository.findKeysByEmailIn(chunk)) {
+                studentIds.put(key.getEmail(), key.getId());
+                chunkIds.add(key.getId());
+            }
+            if (!chunkIds.isEmpty()) {
+                enrolledIds.addAll(enrollmentRepository.findEnrolledStudentIds(courseId, chunkIds));
+            }
+        }
+
+        Set<Long> newIds = new LinkedHashSet<>();
+        for (String email : dto.studentEmails()) {
+            Long studentId = studentIds.get(email);
+            if (studentId != null && !enrolledIds.contains(studentId)) newIds.add(studentId);
+        }
+        // students beyond the free seats are reported in request order as COURSE_FULL
+        int seats = courseRepository.reserveSeats(courseId, newIds.size());
+        Set<Long> seatedIds = new LinkedHashSet<>(newIds.stream().limit(seats).toList());
+
+        List<EnrollmentResult> results = new ArrayList<>(dto.studentEmails().size());
+        Set<Long> seenIds = new HashSet<>();
+        for (String email : dto.studentEmails()) {
+            Long studentId = studentIds.get(email);
+            EnrollmentOutcome outcome;
+            if (studentId == null) {
+                outcome = EnrollmentOutcome.UNKNOWN_STUDENT;
+            } else if (enrolledIds.contains(studentId) || !seenIds.add(studentId)) {
+                outcome = EnrollmentOutcome.DUPLICATE;
+            } else if (!seatedIds.contains(studentId)) {
+                outcome = EnrollmentOutcome.COURSE_FULL;
+            } else {
+                outcome = EnrollmentOutcome.CREATED;
+            }
+            results.add(new EnrollmentResult(email, outcome));
+        }
+
+        log.info("Enrolling {} students to course with id: {}", seatedIds.size(), courseId);
+        enrollmentRepository.batchInsert(courseId, seatedIds, EnrollmentStatus.ACTIVE);
+        if (!seatedIds.isEmpty()) {
+            addToStats(courseId, seatedIds.size());
+        }
+        return results;
+    }
+
+    private void addToStats(Long courseId, long activeCount) {
+        int updated = courseEnrollmentStatsRepository.addEnrollments(courseId, EnrollmentStatus.ACTIVE, activeCount);
+        if (updated == 0) {
+            throw new ConflictException(FailureReason.NOT_FOUND, "Enrollment statistics not found!");
+        }
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += LOOKUP_CHUNK_SIZE) {
+            chunks.add(items.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, items.size())));
+        }
+        return chunks;
     }
 }
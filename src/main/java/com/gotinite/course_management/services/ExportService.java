@@ -0,0 +1,137 @@
+package com.gotinite.course_management.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotinite.course_management.cache.NaturalKeyCache;
+import com.gotinite.course_management.dtos.EnrollmentExportRow;
+import com.gotinite.course_management.dtos.ExportFilter;
+import com.gotinite.course_management.dtos.ExportFormat;
+import com.gotinite.course_management.dtos.GradeExportRow;
+import com.gotinite.course_management.repositories.EnrollmentRepository;
+import com.gotinite.course_management.repositories.GradeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes grades and enrollments row by row while the database cursor is read, so the export
+ * holds one fetch-size window of rows in memory regardless of the table size.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final List<String> GRADE_COLUMNS =
+            List.of("id", "value", "studentEmail", "courseName", "teacherEmail", "gradedAt");
+    private static final List<String> ENROLLMENT_COLUMNS =
+            List.of("id", "status", "studentEmail", "courseName", "teacherEmail", "enrolledAt");
+
+    private final GradeRepository gradeRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final NaturalKeyCache naturalKeyCache;
+    private final ObjectMapper objectMapper;
+
+    public ExportFilter filter(String courseName, String teacherEmail, LocalDate from, LocalDate to) {
+        Long courseId = courseName == null ? null : naturalKeyCache.courseId(courseName)
+                .orElseThrow(() -> new IllegalArgumentException("Course not found!"));
+        Long teacherId = teacherEmail == null ? null : naturalKeyCache.teacherId(teacherEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Teacher not found!"));
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Invalid date range!");
+        }
+        return new ExportFilter(courseId, teacherId, startOf(from), to == null ? null : startOf(to.plusDays(1)));
+    }
+
+    public void writeGrades(ExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<GradeExportRow> rows = gradeRepository.streamForExport(
+                filter.courseId(), filter.teacherId(), filter.from(), filter.to())) {
+            write(rows, format, GRADE_COLUMNS, row -> Arrays.asList(row.id(), row.value(), row.studentEmail(),
+                    row.courseName(), row.teacherEmail(), row.gradedAt()), out);
+        }
+    }
+
+    public void writeEnrollments(ExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<EnrollmentExportRow> rows = enrollmentRepository.streamForExport(
+                filter.courseId(), filter.teacherId(), filter.from(), filter.to())) {
+            write(rows, format, ENROLLMENT_COLUMNS, row -> Arrays.asList(row.id(), row.status(), row.studentEmail(),
+                    row.courseName(), row.teacherEmail(), row.enrolledAt()), out);
+        }
+    }
+
+    private <T> void write(Stream<T> rows, ExportFormat format, List<String> columns,
+                           Function<T, List<Object>> values, OutputStream out) throws IOException {
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows, columns, values, out);
+            } else {
+                writeNdjson(rows, out);
+            }
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private <T> void writeNdjson(Stream<T> rows, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            rows.forEach(row -> {
+                try {
+                    generator.writeObject(row);
+                    generator.writeRaw('\n');
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        }
+    }
+
+    private <T> void writeCsv(Stream<T> rows, List<String> columns,
+                              Function<T, List<Object>> values, OutputStream out) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writeCsvLine(writer, columns);
+            rows.forEach(row -> {
+                try {
+                    writeCsvLine(writer, values.apply(row));
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) writer.write(',');
+            writer.write(csvField(values.get(i)));
+        }
+        writer.write('\n');
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static Instant startOf(LocalDate date) {
+        return date == null ? null : date.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
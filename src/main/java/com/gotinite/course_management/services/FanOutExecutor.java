@@ -0,0 +1,36 @@
+package com.gotinite.course_management.services;
+
+import com.gotinite.course_management.monitoring.QueryStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs the parallel database reads of every service on one virtual-thread pool no larger than the
+ * connection pool, so fan-out work together never waits on more connections than there are.
+ * Statements run by a task count towards the request that submitted it.
+ */
+@Component
+public class FanOutExecutor {
+
+    private final ExecutorService executor;
+
+    public FanOutExecutor(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        this.executor = Executors.newFixedThreadPool(maximumPoolSize,
+                Thread.ofVirtual().name("db-fan-out-", 0).factory());
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(QueryStats.propagate(task), executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
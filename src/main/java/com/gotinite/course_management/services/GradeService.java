@@ -1,10 +1,25 @@
 package com.gotinite.course_management.services;
 
-import com.gotinite.course_management.models.Course;
+import com.gotinite.course_management.cache.NaturalKeyCache;
+import com.gotinite.course_management.cache.TranscriptCache;
+import com.gotinite.course_management.dtos.BulkGradeDto;
+import com.gotinite.course_management.dtos.CourseGradeStatsView;
+import com.gotinite.course_management.dtos.GradeEntryCheck;
+import com.gotinite.course_management.dtos.GradeEntryDto;
+import com.gotinite.course_management.dtos.GradeOutcome;
+import com.gotinite.course_management.dtos.GradeResult;
+import com.gotinite.course_management.dtos.GradeSubmission;
+import com.gotinite.course_management.dtos.GradeView;
+import com.gotinite.course_management.dtos.RankView;
+import com.gotinite.course_management.exceptions.ConflictException;
+import com.gotinite.course_management.exceptions.InvalidRequestException;
+import com.gotinite.course_management.models.CourseGradeStats;
 import com.gotinite.course_management.models.Grade;
-import com.gotinite.course_management.models.Student;
-import com.gotinite.course_management.models.Teacher;
+import com.gotinite.course_management.monitoring.FailureReason;
+import com.gotinite.course_management.ranking.GradeRankIndex;
+import com.gotinite.course_management.repositories.CourseGradeStatsRepository;
 import com.gotinite.course_management.repositories.CourseRepository;
+import com.gotinite.course_management.repositories.EnrollmentRepository;
 import com.gotinite.course_management.repositories.GradeRepository;
 import com.gotinite.course_management.repositories.StudentRepository;
 import com.gotinite.course_management.repositories.TeacherRepository;
@@ -13,8 +28,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @Slf4j
@@ -22,92 +36,272 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class GradeService {
 
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
     private final GradeRepository gradeRepository;
     private final CourseRepository courseRepository;
-    private final StudentService studentService;
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final NaturalKeyCache naturalKeyCache;
+    private final CourseGradeStatsRepository courseGradeStatsRepository;
+    private final TranscriptCache transcriptCache;
+    private final GradeRankIndex gradeRankIndex;
 
-    public List<Grade> getByStudent(String email) {
-        Optional<Student> student = studentRepository.findByEmail(email);
-        if (student.isPresent()) {
-            Long id = student.get().getId();
-            return gradeRepository.findByStudentId(id);
-        } else {
-            throw new IllegalArgumentException("Student not found!");
-        }
+    public List<GradeView> getByStudent(String email) {
+        Long id = naturalKeyCache.studentId(email)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Student not found!"));
+        return gradeRepository.findByStudentId(id);
     }
 
-    public List<Grade> getByCourse(String name) {
-        Optional<Course> course = courseRepository.findByName(name);
-        if (course.isPresent()) {
-            Long id = course.get().getId();
-            return gradeRepository.findByCourseId(id);
-        } else {
-            throw new IllegalArgumentException("Course not found!");
-        }
+    public List<GradeView> getByCourse(String name) {
+        Long id = naturalKeyCache.courseId(name)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        return gradeRepository.findByCourseId(id);
     }
 
-    public List<Grade> getByTeacher(String email) {
-        Optional<Teacher> teacher = teacherRepository.findByEmail(email);
-        if (teacher.isPresent()) {
-            Long id = teacher.get().getId();
-            return gradeRepository.findByTeacherId(id);
-        } else {
-            throw new IllegalArgumentException("Teacher not found!");
-        }
+    public List<GradeView> getByTeacher(String email) {
+        Long id = naturalKeyCache.teacherId(email)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Teacher not found!"));
+        return gradeRepository.findByTeacherId(id);
     }
 
-    public Optional<Grade> getByStudentAndCourse(String email, String name) {
-        Optional<Student> dbObjStudent = studentRepository.findByEmail(email);
-        Optional<Course> dbObjCourse = courseRepository.findByName(name);
-        Student student = dbObjStudent.orElseThrow(() ->
-                new IllegalArgumentException("Student not found!"));
-        Course course = dbObjCourse.orElseThrow(() ->
-                new IllegalArgumentException("Course not found!"));
-        Long studentId = student.getId();
-        Long courseId = course.getId();
+    public Optional<GradeView> getByStudentAndCourse(String email, String name) {
+        Long studentId = naturalKeyCache.studentId(email)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Student not found!"));
+        Long courseId = naturalKeyCache.courseId(name)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
         return gradeRepository.findByStudentIdAndCourseId(studentId, courseId);
     }
 
+    public Optional<CourseGradeStatsView> getStatsByCourse(String name) {
+        Long id = naturalKeyCache.courseId(name)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        return courseGradeStatsRepository.findViewByCourseId(id);
+    }
+
+    public List<CourseGradeStatsView> getStatsForAllCourses() {
+        return courseGradeStatsRepository.findAllViews();
+    }
+
+    public Optional<RankView> getCourseRank(String email, String name) {
+        Long studentId = naturalKeyCache.studentId(email)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Student not found!"));
+        Long courseId = naturalKeyCache.courseId(name)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        return gradeRankIndex.courseRank(courseId, studentId);
+    }
+
+    public Optional<RankView> getSchoolRank(String email) {
+        Long studentId = naturalKeyCache.studentId(email)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Student not found!"));
+        return gradeRankIndex.schoolRank(studentId);
+    }
+
     @Transactional
     public void updateValueById(Double value, Long id) {
         if (value < 2 || value > 6) {
-            throw new IllegalArgumentException("Incorrect value for grade!");
-        } else if (!gradeRepository.existsById(id)) {
-            throw new IllegalArgumentException("Grade not found!");
+            throw new InvalidRequestException(FailureReason.INVALID_GRADE, "Incorrect value for grade!");
         }
+        // the row lock keeps concurrent updates of one grade from applying the same old value twice
+        Grade grade = gradeRepository.findForUpdateById(id)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Grade not found!"));
+        Double oldValue = grade.getValue();
+        Long courseId = grade.getCourse().getId();
         gradeRepository.updateValueById(value, id);
+        courseGradeStatsRepository.replaceGrade(courseId, oldValue, value,
+                CourseGradeStats.bucketOf(oldValue), CourseGradeStats.bucketOf(value));
+        courseGradeStatsRepository.refreshExtremes(courseId, oldValue);
+        transcriptCache.evictStudent(grade.getStudent().getId());
+        gradeRankIndex.record(grade.getStudent().getId(), courseId, value);
     }
 
     @Transactional
-    public Grade addGrade(String studentEmail, String courseName,
-                          String teacherEmail, Double value) {
-        Optional<Student> dbObjStudent = studentRepository.findByEmail(studentEmail);
-        Optional<Course> dbObjCourse = courseRepository.findByName(courseName);
-        Optional<Teacher> dbObjTeacher = teacherRepository.findByEmail(teacherEmail);
-        Student student = dbObjStudent.orElseThrow(() ->
-                new IllegalArgumentException("Student not found!"));
-        Course course = dbObjCourse.orElseThrow(() ->
-                new IllegalArgumentException("Course not found!"));
-        Teacher teacher = dbObjTeacher.orElseThrow(() ->
-                new IllegalArgumentException("Teacher not found!"));
-        List<Student> courseStudents = studentService.getStudentsByCourse(courseName);
-
+    public GradeView addGrade(String studentEmail, String courseName,
+                              String teacherEmail, Double value) {
+        Long studentId = naturalKeyCache.studentId(studentEmail)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Student not found!"));
+        Long courseId = naturalKeyCache.courseId(courseName)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        Long teacherId = naturalKeyCache.teacherId(teacherEmail)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Teacher not found!"));
         if (value < 2 || value > 6) {
-            throw new IllegalArgumentException("Incorrect value for grade!");
-        } else if (gradeRepository.existsByStudentAndCourse(student, course)) {
-            throw new IllegalArgumentException("The student already has a grade for this course!");
-        } else if (!teacher.equals(course.getTeacher())) {
-            throw new IllegalArgumentException("The teacher is not allowed to grade this course!");
-        } else if (!courseStudents.contains(student)) {
-            throw new IllegalArgumentException("The student is not enrolled in this course!");
+            throw new InvalidRequestException(FailureReason.INVALID_GRADE, "Incorrect value for grade!");
+        }
+
+        GradeEntryCheck check = gradeRepository.checkGradeEntry(courseId, studentId, teacherId)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        if (check.graded()) {
+            throw new InvalidRequestException(FailureReason.DUPLICATE,
+                    "The student already has a grade for this course!");
+        } else if (!check.taughtByTeacher()) {
+            throw new InvalidRequestException(FailureReason.NOT_ALLOWED,
+                    "The teacher is not allowed to grade this course!");
+        } else if (!check.enrolled()) {
+            throw new InvalidRequestException(FailureReason.NOT_ALLOWED, "The student is not enrolled in this course!");
+        }
+
+        Grade grade = gradeRepository.saveAndFlush(newGrade(value, studentId, courseId, teacherId));
+        addToStats(courseId, List.of(value));
+        transcriptCache.evictStudent(studentId);
+        gradeRankIndex.record(studentId, courseId, value);
+        return new GradeView(grade.getId(), value, studentEmail, courseName, teacherEmail);
+    }
+
+    @Transactional
+    public List<GradeResult> addGrades(BulkGradeDto dto) {
+        if (dto == null || dto.grades() == null) throw new IllegalArgumentException();
+        Long courseId = naturalKeyCache.courseId(dto.courseName())
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        Long teacherId = naturalKeyCache.teacherId(dto.teacherEmail())
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Teacher not found!"));
+        if (!courseRepository.existsByIdAndTeacherId(courseId, teacherId)) {
+            throw new InvalidRequestException(FailureReason.NOT_ALLOWED,
+                    "The teacher is not allowed to grade this course!");
+        }
+
+        Set<String> emails = new HashSet<>();
+        for (GradeEntryDto entry : dto.grades()) {
+            if (entry != null && entry.studentEmail() != null) emails.add(entry.studentEmail());
+        }
+        Map<String, Long> studentIds = new HashMap<>();
+        Set<Long> enrolledIds = new HashSet<>();
+        Set<Long> gradedIds = new HashSet<>();
+        for (List<String> chunk : chunks(new ArrayList<>(emails))) {
+            List<Long> chunkIds = new ArrayList<>();
+            for (StudentRepository.EmailKey key : studentRepository.findKeysByEmailIn(chunk)) {
+                studentIds.put(key.getEmail(), key.getId());
+                chunkIds.add(key.getId());
+            }
+            if (!chunkIds.isEmpty()) {
+                enrolledIds.addAll(enrollmentRepository.findEnrolledStudentIds(courseId, chunkIds));
+                gradedIds.addAll(gradeRepository.findGradedStudentIds(courseId, chunkIds));
+            }
+        }
+
+        List<GradeResult> results = new ArrayList<>(dto.grades().size());
+        List<Grade> newGrades = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        List<Long> gradedStudentIds = new ArrayList<>();
+        for (GradeEntryDto entry : dto.grades()) {
+            String email = entry == null ? null : entry.studentEmail();
+            Double value = entry == null ? null : entry.value();
+            Long studentId = studentIds.get(email);
+            GradeOutcome outcome;
+            if (studentId == null) {
+                outcome = GradeOutcome.UNKNOWN_STUDENT;
+            } else if (value == null || value < 2 || value > 6) {
+                outcome = GradeOutcome.INVALID_VALUE;
+            } else if (!enrolledIds.contains(studentId)) {
+                outcome = GradeOutcome.NOT_ENROLLED;
+            } else if (!gradedIds.add(studentId)) {
+                outcome = GradeOutcome.DUPLICATE;
+            } else {
+                outcome = GradeOutcome.CREATED;
+                newGrades.add(newGrade(value, studentId, courseId, teacherId));
+                values.add(value);
+                gradedStudentIds.add(studentId);
+            }
+            results.add(new GradeResult(email, outcome));
         }
 
-        Grade grade = new Grade(value, student, course, teacher);
-        student.getGrades().add(grade);
-        course.getGrades().add(grade);
-        teacher.getGrades().add(grade);
-        return gradeRepository.saveAndFlush(grade);
+        log.info("Adding {} grades to course with id: {}", newGrades.size(), courseId);
+        gradeRepository.saveAll(newGrades);
+        gradeRepository.flush();
+        addToStats(courseId, values);
+        transcriptCache.evictStudents(gradedStudentIds);
+        gradeRankIndex.record(courseId, gradedStudentIds, values);
+        return results;
+    }
+
+    /**
+     * Writes journaled submissions, which were validated when submitted, in one transaction and
+     * returns each submission's outcome by id.
+     */
+    @Transactional
+    public Map<Long, GradeOutcome> addSubmittedGrades(List<GradeSubmission> submissions) {
+        Map<Long, List<GradeSubmission>> byCourse = new LinkedHashMap<>();
+        for (GradeSubmission submission : submissions) {
+            byCourse.computeIfAbsent(submission.courseId(), key -> new ArrayList<>()).add(submission);
+        }
+
+        Map<Long, GradeOutcome> outcomes = new HashMap<>();
+        for (Map.Entry<Long, List<GradeSubmission>> course : byCourse.entrySet()) {
+            Long courseId = course.getKey();
+            Map<Long, Boolean> allowedTeachers = new HashMap<>();
+            Set<Long> studentIds = new HashSet<>();
+            for (GradeSubmission submission : course.getValue()) {
+                allowedTeachers.computeIfAbsent(submission.teacherId(),
+                        teacherId -> courseRepository.existsByIdAndTeacherId(courseId, teacherId));
+                studentIds.add(submission.studentId());
+            }
+            Set<Long> enrolledIds = new HashSet<>();
+            Set<Long> gradedIds = new HashSet<>();
+            for (List<Long> chunk : chunks(new ArrayList<>(studentIds))) {
+                enrolledIds.addAll(enrollmentRepository.findEnrolledStudentIds(courseId, chunk));
+                gradedIds.addAll(gradeRepository.findGradedStudentIds(courseId, chunk));
+            }
+
+            List<Grade> newGrades = new ArrayList<>();
+            List<Double> values = new ArrayList<>();
+            List<Long> gradedStudentIds = new ArrayList<>();
+            for (GradeSubmission submission : course.getValue()) {
+                GradeOutcome outcome;
+                if (!allowedTeachers.get(submission.teacherId())) {
+                    outcome = GradeOutcome.NOT_ALLOWED;
+                } else if (!enrolledIds.contains(submission.studentId())) {
+                    outcome = GradeOutcome.NOT_ENROLLED;
+                } else if (!gradedIds.add(submission.studentId())) {
+                    outcome = GradeOutcome.DUPLICATE;
+                } else {
+                    outcome = GradeOutcome.CREATED;
+                    newGrades.add(newGrade(submission.value(), submission.studentId(), courseId, submission.teacherId()));
+                    values.add(submission.value());
+                    gradedStudentIds.add(submission.studentId());
+                }
+                outcomes.put(submission.id(), outcome);
+            }
+
+            gradeRepository.saveAll(newGrades);
+            addToStats(courseId, values);
+            transcriptCache.evictStudents(gradedStudentIds);
+            gradeRankIndex.record(courseId, gradedStudentIds, values);
+        }
+        log.info("Writing {} submitted grades for {} courses", submissions.size(), byCourse.size());
+        gradeRepository.flush();
+        return outcomes;
+    }
+
+    private Grade newGrade(Double value, Long studentId, Long courseId, Long teacherId) {
+        return new Grade(value,
+                studentRepository.getReferenceById(studentId),
+                courseRepository.getReferenceById(courseId),
+                teacherRepository.getReferenceById(teacherId));
+    }
+
+    private void addToStats(Long courseId, List<Double> values) {
+        if (values.isEmpty()) return;
+        DoubleSummaryStatistics summary = new DoubleSummaryStatistics();
+        double sumOfSquares = 0;
+        long[] buckets = new long[5];
+        for (double value : values) {
+            summary.accept(value);
+            sumOfSquares += value * value;
+            buckets[CourseGradeStats.bucketOf(value) - 2]++;
+        }
+        int updated = courseGradeStatsRepository.addGrades(courseId, summary.getCount(), summary.getSum(),
+                sumOfSquares, summary.getMin(), summary.getMax(),
+                buckets[0], buckets[1], buckets[2], buckets[3], buckets[4]);
+        if (updated == 0) {
+            throw new ConflictException(FailureReason.NOT_FOUND, "Grade statistics not found!");
+        }
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += LOOKUP_CHUNK_SIZE) {
+            chunks.add(items.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, items.size())));
+        }
+        return chunks;
     }
 }
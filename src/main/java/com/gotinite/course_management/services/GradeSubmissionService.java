@@ -0,0 +1,184 @@
+package com.gotinite.course_management.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gotinite.course_management.cache.NaturalKeyCache;
+import com.gotinite.course_management.dtos.GradeOutcome;
+import com.gotinite.course_management.dtos.GradeSubmission;
+import com.gotinite.course_management.dtos.GradeSubmissionView;
+import com.gotinite.course_management.dtos.SubmissionStatus;
+import com.gotinite.course_management.exceptions.InvalidRequestException;
+import com.gotinite.course_management.journal.GradeJournal;
+import com.gotinite.course_management.monitoring.FailureReason;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind grade submissions. A submission is validated against the cached natural keys,
+ * appended to the {@link GradeJournal} and acknowledged; a single writer thread then drains the
+ * journal, committing up to {@code batch-size} grades per transaction. Bursts therefore hold one
+ * pooled connection instead of one per request, and a restart resumes from the journal.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "grades.write-behind.enabled", havingValue = "true")
+public class GradeSubmissionService {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final GradeService gradeService;
+    private final NaturalKeyCache naturalKeyCache;
+    private final Path journalFile;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration linger;
+    private final BlockingQueue<GradeSubmission> queue = new LinkedBlockingQueue<>();
+    private final Cache<Long, GradeSubmissionView> submissions;
+    private GradeJournal journal;
+    private Thread writer;
+    private volatile boolean running;
+
+    public GradeSubmissionService(GradeService gradeService,
+                                  NaturalKeyCache naturalKeyCache,
+                                  @Value("${grades.write-behind.journal:data/grade-journal.bin}") Path journalFile,
+                                  @Value("${grades.write-behind.capacity:1000000}") int capacity,
+                                  @Value("${grades.write-behind.batch-size:500}") int batchSize,
+                                  @Value("${grades.write-behind.linger:20ms}") Duration linger,
+                                  @Value("${grades.write-behind.status-retention:1h}") Duration statusRetention) {
+        this.gradeService = gradeService;
+        this.naturalKeyCache = naturalKeyCache;
+        this.journalFile = journalFile;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.submissions = Caffeine.newBuilder()
+                .maximumSize(capacity)
+                .expireAfterWrite(statusRetention)
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        journal = new GradeJournal(journalFile, capacity);
+        for (GradeSubmission submission : journal.pending()) {
+            submissions.put(submission.id(), queued(submission));
+            queue.add(submission);
+        }
+        log.info("Recovered {} grade submissions from {}", queue.size(), journalFile);
+        running = true;
+        writer = Thread.ofPlatform().name("grade-writer").daemon().start(this::drain);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join();
+        journal.close();
+    }
+
+    public GradeSubmissionView submitGrade(String studentEmail, String courseName,
+                                           String teacherEmail, Double value) {
+        Long studentId = naturalKeyCache.studentId(studentEmail)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Student not found!"));
+        Long courseId = naturalKeyCache.courseId(courseName)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        Long teacherId = naturalKeyCache.teacherId(teacherEmail)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Teacher not found!"));
+        if (value == null || value < 2 || value > 6) {
+            throw new InvalidRequestException(FailureReason.INVALID_GRADE, "Incorrect value for grade!");
+        }
+
+        // enqueued under the journal lock: the writer drains up to the last id of a batch, so the
+        // queue must hold submissions in slot order
+        GradeSubmission submission = journal.append(studentId, courseId, teacherId, value, appended -> {
+            submissions.put(appended.id(), queued(appended));
+            queue.add(appended);
+        });
+        return queued(submission);
+    }
+
+    public Optional<GradeSubmissionView> getSubmission(Long id) {
+        return Optional.ofNullable(submissions.getIfPresent(id));
+    }
+
+    private void drain() {
+        List<GradeSubmission> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                GradeSubmission first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (batch.size() < batchSize && !linger.isZero()) {
+                    Thread.sleep(linger);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // the batch stays in the journal until it is written, so a failed write is retried until it succeeds
+    private void write(List<GradeSubmission> batch) throws InterruptedException {
+        while (true) {
+            try {
+                complete(gradeService.addSubmittedGrades(batch));
+                break;
+            } catch (DataIntegrityViolationException exception) {
+                // a grade added through /add/grade in the meantime; write the batch one by one
+                for (GradeSubmission submission : batch) {
+                    writeAlone(submission);
+                }
+                break;
+            } catch (RuntimeException exception) {
+                log.error("Writing {} submitted grades failed, retrying.", batch.size(), exception);
+                Thread.sleep(RETRY_DELAY);
+            }
+        }
+        journal.markDrained(batch.getLast().id());
+    }
+
+    private void writeAlone(GradeSubmission submission) throws InterruptedException {
+        while (true) {
+            try {
+                complete(gradeService.addSubmittedGrades(List.of(submission)));
+                return;
+            } catch (DataIntegrityViolationException exception) {
+                complete(Map.of(submission.id(), GradeOutcome.DUPLICATE));
+                return;
+            } catch (RuntimeException exception) {
+                log.error("Writing submitted grade {} failed, retrying.", submission.id(), exception);
+                Thread.sleep(RETRY_DELAY);
+            }
+        }
+    }
+
+    private void complete(Map<Long, GradeOutcome> outcomes) {
+        outcomes.forEach((id, outcome) ->
+                submissions.put(id, new GradeSubmissionView(id, SubmissionStatus.COMPLETED, outcome)));
+    }
+
+    private static GradeSubmissionView queued(GradeSubmission submission) {
+        return new GradeSubmissionView(submission.id(), SubmissionStatus.QUEUED, null);
+    }
+}
@@ -0,0 +1,142 @@
+package com.gotinite.course_management.services;
+
+import com.gotinite.course_management.dtos.ImportReport;
+import com.gotinite.course_management.dtos.ImportRowError;
+import com.gotinite.course_management.dtos.PersonImportRow;
+import com.gotinite.course_management.repositories.PersonImportRepository;
+import com.gotinite.course_management.repositories.PersonImportRepository.Target;
+import com.gotinite.course_management.search.NameSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Imports "firstName,lastName,email" CSV rosters. Rows are validated and deduplicated while the
+ * input is read, staged in bulk, checked against existing emails with one set query and inserted
+ * with one statement.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional
+public class ImportService {
+
+    private static final List<String> HEADER = List.of("firstname", "lastname", "email");
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+    private static final int MAX_LENGTH = 255;
+
+    private final PersonImportRepository personImportRepository;
+    private final NameSearchIndex nameSearchIndex;
+
+    public ImportReport importStudents(InputStream csv) throws IOException {
+        return importPeople(csv, Target.STUDENTS, "A student with this email already exists!");
+    }
+
+    public ImportReport importTeachers(InputStream csv) throws IOException {
+        return importPeople(csv, Target.TEACHERS, "A teacher with this email already exists!");
+    }
+
+    private ImportReport importPeople(InputStream csv, Target target, String conflictError) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null || !HEADER.equals(split(header.strip()).stream()
+                .map(column -> column.strip().toLowerCase()).toList())) {
+            throw new IllegalArgumentException("Invalid CSV header!");
+        }
+
+        List<ImportRowError> errors = new ArrayList<>();
+        Set<String> emails = new HashSet<>();
+        AtomicLong line = new AtomicLong(1);
+        personImportRepository.createStagingTable();
+        long staged;
+        try (Stream<PersonImportRow> rows = reader.lines()
+                .map(text -> parse(line.incrementAndGet(), text, emails, errors))
+                .filter(Objects::nonNull)) {
+            staged = personImportRepository.stage(rows);
+        }
+
+        errors.addAll(personImportRepository.findConflicts(target, conflictError));
+        errors.sort(Comparator.comparingLong(ImportRowError::line));
+        long imported = personImportRepository.insertStaged(target, staged);
+        List<Long> importedIds = personImportRepository.findImportedIds(target);
+        if (target == Target.STUDENTS) {
+            nameSearchIndex.reindexStudents(importedIds);
+        } else {
+            nameSearchIndex.reindexTeachers(importedIds);
+        }
+        log.info("Imported {} {}, rejected {} rows.", imported, target.name().toLowerCase(), errors.size());
+        return new ImportReport(imported, errors.size(), errors);
+    }
+
+    private static PersonImportRow parse(long line, String text, Set<String> emails, List<ImportRowError> errors) {
+        if (text.isBlank()) return null;
+        List<String> fields = split(text);
+        if (fields.size() != HEADER.size()) {
+            errors.add(new ImportRowError(line, null, "Expected " + HEADER.size() + " columns!"));
+            return null;
+        }
+        String firstName = fields.get(0).strip();
+        String lastName = fields.get(1).strip();
+        String email = fields.get(2).strip();
+        String error = null;
+        if (firstName.isEmpty() || lastName.isEmpty() || email.isEmpty()) {
+            error = "Missing value!";
+        } else if (firstName.length() > MAX_LENGTH || lastName.length() > MAX_LENGTH || email.length() > MAX_LENGTH) {
+            error = "Value too long!";
+        } else if (!EMAIL.matcher(email).matches()) {
+            error = "Invalid email!";
+        } else if (!emails.add(email)) {
+            error = "Duplicate email in file!";
+        }
+        if (error != null) {
+            errors.add(new ImportRowError(line, email.isEmpty() ? null : email, error));
+            return null;
+        }
+        return new PersonImportRow(line, firstName, lastName, email);
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    private static List<String> split(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
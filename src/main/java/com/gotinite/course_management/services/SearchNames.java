@@ -0,0 +1,24 @@
+package com.gotinite.course_management.services;
+
+import java.util.Locale;
+
+/**
+ * Brings user input to the form of the generated {@code search_name} columns: lower case, single spaces.
+ */
+final class SearchNames {
+
+    private SearchNames() {
+    }
+
+    static String normalize(String name) {
+        if (name == null) throw new IllegalArgumentException("The name cannot be empty!");
+        return name.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // LIKE pattern escaped with '\', matching names that start with the input
+    static String prefixPattern(String prefix) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) throw new IllegalArgumentException("The name cannot be empty!");
+        return normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
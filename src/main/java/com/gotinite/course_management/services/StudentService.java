@@ -1,20 +1,27 @@
 package com.gotinite.course_management.services;
 
+import com.gotinite.course_management.cache.NaturalKeyCache;
+import com.gotinite.course_management.dtos.KeysetCursor;
+import com.gotinite.course_management.dtos.KeysetPage;
 import com.gotinite.course_management.dtos.StudentDto;
+import com.gotinite.course_management.dtos.StudentView;
+import com.gotinite.course_management.exceptions.ConflictException;
+import com.gotinite.course_management.exceptions.InvalidRequestException;
 import com.gotinite.course_management.mappers.StudentMapper;
-import com.gotinite.course_management.models.Course;
 import com.gotinite.course_management.models.Student;
-import com.gotinite.course_management.repositories.CourseRepository;
+import com.gotinite.course_management.monitoring.FailureReason;
 import com.gotinite.course_management.repositories.StudentRepository;
+import com.gotinite.course_management.repositories.TableStatisticsRepository;
+import com.gotinite.course_management.search.NameSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @Slf4j
@@ -22,40 +29,60 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class StudentService {
 
-    private final CourseRepository courseRepository;
     private final StudentMapper studentMapper;
     private final StudentRepository studentRepository;
+    private final TableStatisticsRepository tableStatisticsRepository;
+    private final NaturalKeyCache naturalKeyCache;
+    private final NameSearchIndex nameSearchIndex;
 
-    public List<Student> getAllStudents() {
-        log.info("Fetching all students.");
-        System.out.println("\u001B[31m" + " " + Thread.currentThread().getName());
-        return studentRepository.findAll();
+    public Page<StudentView> getAllStudents(Pageable pageable) {
+        return studentRepository.findAllViews(pageable);
     }
 
-    public Page<Student> getAllStudents(Pageable pageable) {
-        return studentRepository.findAll(pageable);
+    public KeysetPage<StudentView> getStudentsAfter(String cursor, int size, String sort) {
+        if (size < 1) throw new IllegalArgumentException("The page size must be positive!");
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        return switch (sort.toLowerCase()) {
+            case "id" -> KeysetPage.of(studentRepository.findViewsAfterId(after.id(), limit), size,
+                    student -> new KeysetCursor(student.id(), null));
+            case "lastname" -> KeysetPage.of(studentRepository.findViewsAfterLastName(after.lastName(), after.id(), limit), size,
+                    student -> new KeysetCursor(student.id(), student.lastName()));
+            default -> throw new IllegalArgumentException("Unsupported sort!");
+        };
     }
 
-    public List<Student> getStudentByFirstName(String firstName) {
+    public long getApproximateStudentCount() {
+        return tableStatisticsRepository.approximateRowCount("students");
+    }
+
+    public List<StudentView> getStudentByFirstName(String firstName) {
         return studentRepository.findByFirstName(firstName);
     }
 
-    public List<Student> getStudentByLastName(String lastName) {
+    public List<StudentView> getStudentByLastName(String lastName) {
         return studentRepository.findByLastName(lastName);
     }
 
-    public List<Student> getStudentByFullName(String fullName) {
-        return  studentRepository.findByFullName(fullName);
+    public List<StudentView> getStudentByFullName(String fullName) {
+        return studentRepository.findByFullName(SearchNames.normalize(fullName));
     }
 
-    public List<Student> getStudentsByCourse(String courseName) {
-        Optional<Course> course = courseRepository.findByName(courseName);
-        if (course.isPresent()) {
-            Long id = course.get().getId();
-            return studentRepository.findByCourseId(id);
-        } else {
-            throw new IllegalArgumentException("Course not found!");
-        }
+    public List<StudentView> getStudentsByNamePrefix(String prefix, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("The limit must be positive!");
+        return studentRepository.findBySearchNamePrefix(SearchNames.prefixPattern(prefix), Limit.of(limit));
+    }
+
+    public List<StudentView> getStudentsByFuzzyName(String query, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("The limit must be positive!");
+        if (query == null || query.isBlank()) throw new IllegalArgumentException("The name cannot be empty!");
+        return nameSearchIndex.searchStudents(query, limit);
+    }
+
+    public List<StudentView> getStudentsByCourse(String courseName) {
+        Long id = naturalKeyCache.courseId(courseName)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        return studentRepository.findByCourseId(id);
     }
 
     @Transactional
@@ -65,25 +92,22 @@ public class StudentService {
         } else if (email.trim().isEmpty()) {
             throw new IllegalArgumentException("The email cannot be empty!");
         } else if (studentRepository.existsByEmail(email)) {
-            throw new IllegalStateException("A student with this email already exists!");
+            throw new ConflictException(FailureReason.DUPLICATE, "A student with this email already exists!");
         }
 
-        Optional<Student> student = studentRepository.findByEmail(dto.email());
-
-        if (student.isPresent()) {
-            Long id = student.get().getId();
-            log.info("Updating email of student with id: {}", id);
-            studentRepository.updateEmailById(id, email);
-        } else {
-            throw new IllegalStateException("Student not found!");
-        }
+        Long id = naturalKeyCache.studentId(dto.email())
+                .orElseThrow(() -> new ConflictException(FailureReason.NOT_FOUND, "Student not found!"));
+        log.info("Updating email of student with id: {}", id);
+        studentRepository.updateEmailById(id, email);
+        naturalKeyCache.evictStudent(dto.email());
+        nameSearchIndex.reindexStudents(List.of(id));
     }
 
     @Transactional
     public Student createStudent(StudentDto dto) {
         if (dto == null) throw new IllegalArgumentException();
         if (studentRepository.existsByEmail(dto.email())) {
-            throw new IllegalStateException("A student with this email already exists!");
+            throw new ConflictException(FailureReason.DUPLICATE, "A student with this email already exists!");
         }
         log.info("Creating a new student: {}", dto);
         Student newStudent = studentMapper.convertDtoToEntity(dto);
@@ -1,13 +1,21 @@
 package com.gotinite.course_management.services;
 
+import com.gotinite.course_management.cache.NaturalKeyCache;
+import com.gotinite.course_management.dtos.KeysetCursor;
+import com.gotinite.course_management.dtos.KeysetPage;
 import com.gotinite.course_management.dtos.TeacherDto;
+import com.gotinite.course_management.dtos.TeacherView;
+import com.gotinite.course_management.exceptions.ConflictException;
+import com.gotinite.course_management.exceptions.InvalidRequestException;
 import com.gotinite.course_management.mappers.TeacherMapper;
-import com.gotinite.course_management.models.Course;
 import com.gotinite.course_management.models.Teacher;
-import com.gotinite.course_management.repositories.CourseRepository;
+import com.gotinite.course_management.monitoring.FailureReason;
+import com.gotinite.course_management.repositories.TableStatisticsRepository;
 import com.gotinite.course_management.repositories.TeacherRepository;
+import com.gotinite.course_management.search.NameSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,34 +30,60 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class TeacherService {
 
-    private final CourseRepository courseRepository;
     private final TeacherMapper teacherMapper;
     private final TeacherRepository teacherRepository;
+    private final TableStatisticsRepository tableStatisticsRepository;
+    private final NaturalKeyCache naturalKeyCache;
+    private final NameSearchIndex nameSearchIndex;
 
-    public List<Teacher> getTeachersByFirstName(String firstName) {
+    public List<TeacherView> getTeachersByFirstName(String firstName) {
         return teacherRepository.findByFirstName(firstName);
     }
 
-    public Page<Teacher> getAllTeachers(Pageable pageable) {
-        return teacherRepository.findAll(pageable);
+    public Page<TeacherView> getAllTeachers(Pageable pageable) {
+        return teacherRepository.findAllViews(pageable);
     }
 
-    public List<Teacher> getTeachersByLastName(String lastName) {
+    public KeysetPage<TeacherView> getTeachersAfter(String cursor, int size, String sort) {
+        if (size < 1) throw new IllegalArgumentException("The page size must be positive!");
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        return switch (sort.toLowerCase()) {
+            case "id" -> KeysetPage.of(teacherRepository.findViewsAfterId(after.id(), limit), size,
+                    teacher -> new KeysetCursor(teacher.id(), null));
+            case "lastname" -> KeysetPage.of(teacherRepository.findViewsAfterLastName(after.lastName(), after.id(), limit), size,
+                    teacher -> new KeysetCursor(teacher.id(), teacher.lastName()));
+            default -> throw new IllegalArgumentException("Unsupported sort!");
+        };
+    }
+
+    public long getApproximateTeacherCount() {
+        return tableStatisticsRepository.approximateRowCount("teachers");
+    }
+
+    public List<TeacherView> getTeachersByLastName(String lastName) {
         return teacherRepository.findByLastName(lastName);
     }
 
-    public List<Teacher> getTeachersByFullName(String name) {
-        return teacherRepository.findByFullName(name);
+    public List<TeacherView> getTeachersByFullName(String name) {
+        return teacherRepository.findByFullName(SearchNames.normalize(name));
     }
 
-    public Optional<Teacher> getTeacherByCourse(String name) {
-        Optional<Course> course = courseRepository.findByName(name);
-        if (course.isPresent()) {
-            Long id = course.get().getId();
-            return teacherRepository.findByCourseId(id);
-        } else {
-            throw new IllegalArgumentException("Course not found!");
-        }
+    public List<TeacherView> getTeachersByNamePrefix(String prefix, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("The limit must be positive!");
+        return teacherRepository.findBySearchNamePrefix(SearchNames.prefixPattern(prefix), Limit.of(limit));
+    }
+
+    public List<TeacherView> getTeachersByFuzzyName(String query, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("The limit must be positive!");
+        if (query == null || query.isBlank()) throw new IllegalArgumentException("The name cannot be empty!");
+        return nameSearchIndex.searchTeachers(query, limit);
+    }
+
+    public Optional<TeacherView> getTeacherByCourse(String name) {
+        Long id = naturalKeyCache.courseId(name)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        return teacherRepository.findByCourseId(id);
     }
 
     @Transactional
@@ -59,25 +93,22 @@ public class TeacherService {
         } else if (email.trim().isEmpty()) {
             throw new IllegalArgumentException("The email cannot be empty!");
         } else if (teacherRepository.existsByEmail(email)) {
-            throw new IllegalStateException("A teacher with this email already exists!");
+            throw new ConflictException(FailureReason.DUPLICATE, "A teacher with this email already exists!");
         }
 
-        Optional<Teacher> teacher = teacherRepository.findByEmail(dto.email());
-
-        if (teacher.isPresent()) {
-            Long id = teacher.get().getId();
-            log.info("Updating email of teacher with id: {}", id);
-            teacherRepository.updateEmailById(email, id);
-        } else {
-            throw new IllegalStateException("Teacher not found!");
-        }
+        Long id = naturalKeyCache.teacherId(dto.email())
+                .orElseThrow(() -> new ConflictException(FailureReason.NOT_FOUND, "Teacher not found!"));
+        log.info("Updating email of teacher with id: {}", id);
+        teacherRepository.updateEmailById(email, id);
+        naturalKeyCache.evictTeacher(dto.email());
+        nameSearchIndex.reindexTeachers(List.of(id));
     }
 
     @Transactional
     public Teacher createTeacher(TeacherDto dto) {
         if (dto == null) throw new IllegalArgumentException();
         else if (teacherRepository.existsByEmail(dto.email())) {
-            throw new IllegalStateException("A teacher with this email already exists!");
+            throw new ConflictException(FailureReason.DUPLICATE, "A teacher with this email already exists!");
         }
         log.info("Creating a new teacher: {}", dto);
         Teacher newTeacher = teacherMapper.convertDtoToEntity(dto);
@@ -0,0 +1,88 @@
+package com.gotinite.course_management.services;
+
+import com.gotinite.course_management.cache.NaturalKeyCache;
+import com.gotinite.course_management.cache.TranscriptCache;
+import com.gotinite.course_management.dtos.TranscriptTermRow;
+import com.gotinite.course_management.dtos.TranscriptView;
+import com.gotinite.course_management.exceptions.InvalidRequestException;
+import com.gotinite.course_management.monitoring.FailureReason;
+import com.gotinite.course_management.repositories.GradeRepository;
+import com.gotinite.course_management.repositories.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Transcripts computed by one aggregate query per student, or per chunk of a course's students.
+ * The chunks of a cohort run in parallel on the {@link FanOutExecutor}, each in its own read-only
+ * transaction.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TranscriptService {
+
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final GradeRepository gradeRepository;
+    private final StudentRepository studentRepository;
+    private final NaturalKeyCache naturalKeyCache;
+    private final TranscriptCache transcriptCache;
+    private final FanOutExecutor fanOutExecutor;
+
+    public TranscriptView getByStudent(String email) {
+        Long id = naturalKeyCache.studentId(email)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Student not found!"));
+        return transcriptCache.get(id, key -> TranscriptView.of(gradeRepository.findTranscriptTerms(List.of(key))));
+    }
+
+    public Map<String, TranscriptView> getByCourse(String name) {
+        Long courseId = naturalKeyCache.courseId(name)
+                .orElseThrow(() -> new InvalidRequestException(FailureReason.NOT_FOUND, "Course not found!"));
+        List<StudentRepository.EmailKey> students = new ArrayList<>(studentRepository.findKeysByCourseId(courseId));
+        students.sort(Comparator.comparing(StudentRepository.EmailKey::getEmail));
+
+        Map<Long, TranscriptView> transcripts = transcriptCache.getAll(
+                students.stream().map(StudentRepository.EmailKey::getId).toList(), this::computeInParallel);
+        Map<String, TranscriptView> result = new LinkedHashMap<>();
+        for (StudentRepository.EmailKey student : students) {
+            result.put(student.getEmail(), transcripts.get(student.getId()));
+        }
+        return result;
+    }
+
+    private Map<Long, TranscriptView> computeInParallel(Set<? extends Long> studentIds) {
+        List<Long> ids = new ArrayList<>(studentIds);
+        log.info("Computing {} transcripts", ids.size());
+        List<CompletableFuture<List<TranscriptTermRow>>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, ids.size()));
+            chunks.add(fanOutExecutor.supply(() -> gradeRepository.findTranscriptTerms(chunk)));
+        }
+
+        Map<Long, List<TranscriptTermRow>> rowsByStudent = new HashMap<>();
+        for (CompletableFuture<List<TranscriptTermRow>> chunk : chunks) {
+            for (TranscriptTermRow row : join(chunk)) {
+                rowsByStudent.computeIfAbsent(row.studentId(), key -> new ArrayList<>()).add(row);
+            }
+        }
+        Map<Long, TranscriptView> transcripts = new HashMap<>();
+        for (Long id : ids) {
+            transcripts.put(id, TranscriptView.of(rowsByStudent.getOrDefault(id, List.of())));
+        }
+        return transcripts;
+    }
+
+    private static List<TranscriptTermRow> join(CompletableFuture<List<TranscriptTermRow>> chunk) {
+        try {
+            return chunk.join();
+        } catch (CompletionException exception) {
+            log.error("Computing transcripts failed.", exception.getCause());
+            throw exception.getCause() instanceof RuntimeException cause ? cause : exception;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+-- A NULL capacity means the course is unlimited. seats_taken is only changed by the conditional
+-- updates in CourseSeatRepositoryImpl, so the check constraint never fires on the hot path.
+ALTER TABLE courses ADD COLUMN IF NOT EXISTS capacity INTEGER;
+
+ALTER TABLE courses ADD COLUMN IF NOT EXISTS seats_taken INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE courses SET seats_taken = (SELECT COUNT(*) FROM enrollments e WHERE e.course_id = courses.id);
+
+ALTER TABLE courses ADD CONSTRAINT ck_courses_seats_taken CHECK (capacity IS NULL OR seats_taken <= capacity);
@@ -0,0 +1,53 @@
+-- Statuses become SMALLINT codes of EnrollmentStatus and CourseStatus. Unknown free-form values
+-- fall back to COMPLETED for enrollments and INACTIVE for courses.
+ALTER TABLE enrollments ADD COLUMN status_code SMALLINT;
+
+UPDATE enrollments SET status_code = CASE UPPER(TRIM(status))
+    WHEN 'ACTIVE' THEN 1
+    WHEN 'COMPLETED' THEN 2
+    WHEN 'SUCCESSFUL' THEN 3
+    WHEN 'UNSUCCESSFUL' THEN 4
+    ELSE 2 END;
+
+ALTER TABLE enrollments DROP COLUMN status;
+
+ALTER TABLE enrollments RENAME COLUMN status_code TO status;
+
+ALTER TABLE enrollments ALTER COLUMN status SET NOT NULL;
+
+ALTER TABLE enrollments ADD CONSTRAINT ck_enrollments_status CHECK (status BETWEEN 1 AND 4);
+
+ALTER TABLE courses ADD COLUMN status_code SMALLINT;
+
+UPDATE courses SET status_code = CASE UPPER(TRIM(status))
+    WHEN 'ACTIVE' THEN 1
+    WHEN 'PENDING' THEN 2
+    ELSE 3 END;
+
+ALTER TABLE courses DROP COLUMN status;
+
+ALTER TABLE courses RENAME COLUMN status_code TO status;
+
+ALTER TABLE courses ALTER COLUMN status SET NOT NULL;
+
+ALTER TABLE courses ADD CONSTRAINT ck_courses_status CHECK (status BETWEEN 1 AND 3);
+
+CREATE TABLE IF NOT EXISTS course_enrollment_stats (
+    course_id BIGINT NOT NULL PRIMARY KEY,
+    active_count BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    successful_count BIGINT NOT NULL DEFAULT 0,
+    unsuccessful_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_course_enrollment_stats_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+INSERT INTO course_enrollment_stats (course_id, active_count, completed_count, successful_count, unsuccessful_count)
+SELECT c.id,
+       SUM(CASE WHEN e.status = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN e.status = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN e.status = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN e.status = 4 THEN 1 ELSE 0 END)
+FROM courses c
+LEFT JOIN enrollments e ON e.course_id = c.id
+WHERE NOT EXISTS (SELECT 1 FROM course_enrollment_stats s WHERE s.course_id = c.id)
+GROUP BY c.id;
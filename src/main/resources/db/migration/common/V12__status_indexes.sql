@@ -0,0 +1,6 @@
+-- Enrollments are read by student and status (EnrollmentRepository.findByStatus) and courses by
+-- status (CourseRepository.findByStatus). Both bind the status as a parameter, which a partial
+-- index per status only matches under custom plans, so the columns are indexed in full.
+CREATE INDEX IF NOT EXISTS idx_enrollments_student_id_status ON enrollments (student_id, status);
+
+CREATE INDEX IF NOT EXISTS idx_courses_status ON courses (status);
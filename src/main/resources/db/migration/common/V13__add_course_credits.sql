@@ -0,0 +1,4 @@
+-- Credits weight a course's grade in a student's transcript; existing courses count as one credit.
+ALTER TABLE courses ADD COLUMN IF NOT EXISTS credits INTEGER DEFAULT 1 NOT NULL;
+
+ALTER TABLE courses ADD CONSTRAINT ck_courses_credits CHECK (credits > 0);
@@ -0,0 +1,54 @@
+CREATE TABLE IF NOT EXISTS teachers (
+    id BIGINT NOT NULL PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_teachers_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS courses (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    teacher_id BIGINT NOT NULL,
+    CONSTRAINT uk_courses_name UNIQUE (name),
+    CONSTRAINT fk_courses_teacher FOREIGN KEY (teacher_id) REFERENCES teachers (id)
+);
+
+CREATE TABLE IF NOT EXISTS students (
+    id BIGINT NOT NULL PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_students_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS enrollments (
+    id BIGINT NOT NULL PRIMARY KEY,
+    status VARCHAR(255) NOT NULL,
+    course_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    CONSTRAINT uk_enrollments_course_student UNIQUE (course_id, student_id),
+    CONSTRAINT fk_enrollments_course FOREIGN KEY (course_id) REFERENCES courses (id),
+    CONSTRAINT fk_enrollments_student FOREIGN KEY (student_id) REFERENCES students (id)
+);
+
+CREATE TABLE IF NOT EXISTS student_courses (
+    student_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    PRIMARY KEY (student_id, course_id),
+    CONSTRAINT fk_student_courses_student FOREIGN KEY (student_id) REFERENCES students (id),
+    CONSTRAINT fk_student_courses_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+CREATE TABLE IF NOT EXISTS grades (
+    id BIGINT NOT NULL PRIMARY KEY,
+    grade_value DOUBLE PRECISION NOT NULL,
+    student_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    teacher_id BIGINT NOT NULL,
+    CONSTRAINT uk_grades_student_course UNIQUE (student_id, course_id),
+    CONSTRAINT fk_grades_student FOREIGN KEY (student_id) REFERENCES students (id),
+    CONSTRAINT fk_grades_course FOREIGN KEY (course_id) REFERENCES courses (id),
+    CONSTRAINT fk_grades_teacher FOREIGN KEY (teacher_id) REFERENCES teachers (id)
+);
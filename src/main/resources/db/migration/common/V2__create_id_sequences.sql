@@ -0,0 +1,9 @@
+-- INCREMENT BY matches the entities' allocationSize: under pooled-lo every nextval reserves the
+-- 50 ids starting at the returned value. JDBC inserts (bulk enrollment, CSV import) reserve ids the
+-- same way through PooledLoSequence; a bare nextval per row would spend a whole block on each row,
+-- as the one-off student_courses reconciliation in V9 does.
+CREATE SEQUENCE IF NOT EXISTS teachers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS courses_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS students_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS enrollments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS grades_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_students_last_name_id ON students (last_name, id);
+
+CREATE INDEX IF NOT EXISTS idx_teachers_last_name_id ON teachers (last_name, id);
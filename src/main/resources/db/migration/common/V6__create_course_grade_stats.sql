@@ -0,0 +1,32 @@
+CREATE TABLE IF NOT EXISTS course_grade_stats (
+    course_id BIGINT NOT NULL PRIMARY KEY,
+    grade_count BIGINT NOT NULL DEFAULT 0,
+    grade_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    grade_sum_of_squares DOUBLE PRECISION NOT NULL DEFAULT 0,
+    min_grade DOUBLE PRECISION,
+    max_grade DOUBLE PRECISION,
+    grades_2 BIGINT NOT NULL DEFAULT 0,
+    grades_3 BIGINT NOT NULL DEFAULT 0,
+    grades_4 BIGINT NOT NULL DEFAULT 0,
+    grades_5 BIGINT NOT NULL DEFAULT 0,
+    grades_6 BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_course_grade_stats_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+INSERT INTO course_grade_stats (course_id, grade_count, grade_sum, grade_sum_of_squares, min_grade, max_grade,
+                                grades_2, grades_3, grades_4, grades_5, grades_6)
+SELECT c.id,
+       COUNT(g.id),
+       COALESCE(SUM(g.grade_value), 0),
+       COALESCE(SUM(g.grade_value * g.grade_value), 0),
+       MIN(g.grade_value),
+       MAX(g.grade_value),
+       SUM(CASE WHEN g.grade_value < 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN g.grade_value >= 3 AND g.grade_value < 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN g.grade_value >= 4 AND g.grade_value < 5 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN g.grade_value >= 5 AND g.grade_value < 6 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN g.grade_value >= 6 THEN 1 ELSE 0 END)
+FROM courses c
+LEFT JOIN grades g ON g.course_id = c.id
+WHERE NOT EXISTS (SELECT 1 FROM course_grade_stats s WHERE s.course_id = c.id)
+GROUP BY c.id;
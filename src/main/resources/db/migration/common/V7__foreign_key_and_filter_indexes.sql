@@ -0,0 +1,18 @@
+-- Lookups by student_id are served by the leading column of the existing unique constraint
+-- on grades (student_id, course_id), and lookups by course_id on enrollments by
+-- uk_enrollments_course_student. student_courses is dropped in V9, and the status columns of
+-- enrollments and courses are indexed in V12, once they hold SMALLINT codes.
+
+CREATE INDEX IF NOT EXISTS idx_grades_course_id_value ON grades (course_id, grade_value);
+
+CREATE INDEX IF NOT EXISTS idx_grades_teacher_id ON grades (teacher_id);
+
+CREATE INDEX IF NOT EXISTS idx_grades_graded_at ON grades (graded_at);
+
+CREATE INDEX IF NOT EXISTS idx_courses_teacher_id ON courses (teacher_id);
+
+CREATE INDEX IF NOT EXISTS idx_enrollments_enrolled_at ON enrollments (enrolled_at);
+
+CREATE INDEX IF NOT EXISTS idx_students_first_name_last_name ON students (first_name, last_name);
+
+CREATE INDEX IF NOT EXISTS idx_teachers_first_name_last_name ON teachers (first_name, last_name);
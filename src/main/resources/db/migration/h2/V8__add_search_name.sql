@@ -0,0 +1,9 @@
+ALTER TABLE students ADD COLUMN IF NOT EXISTS search_name VARCHAR(511)
+    GENERATED ALWAYS AS (LOWER(CONCAT(first_name, ' ', last_name)));
+
+ALTER TABLE teachers ADD COLUMN IF NOT EXISTS search_name VARCHAR(511)
+    GENERATED ALWAYS AS (LOWER(CONCAT(first_name, ' ', last_name)));
+
+CREATE INDEX IF NOT EXISTS idx_students_search_name_id ON students (search_name, id);
+
+CREATE INDEX IF NOT EXISTS idx_teachers_search_name_id ON teachers (search_name, id);
@@ -0,0 +1,10 @@
+-- Enrollments are the single source of truth for rosters: copy over any student_courses rows
+-- that never got a matching enrollment, then drop the join table.
+INSERT INTO enrollments (id, status, course_id, student_id)
+SELECT NEXT VALUE FOR enrollments_seq, 'Completed', sc.course_id, sc.student_id
+FROM student_courses sc
+WHERE NOT EXISTS (
+    SELECT 1 FROM enrollments e WHERE e.course_id = sc.course_id AND e.student_id = sc.student_id
+);
+
+DROP TABLE IF EXISTS student_courses;
@@ -0,0 +1,7 @@
+-- Tables created by the former IDENTITY mapping already hold rows, so every
+-- sequence starts right after the current maximum id.
+SELECT setval('teachers_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM teachers), false);
+SELECT setval('courses_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM courses), false);
+SELECT setval('students_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM students), false);
+SELECT setval('enrollments_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM enrollments), false);
+SELECT setval('grades_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM grades), false);
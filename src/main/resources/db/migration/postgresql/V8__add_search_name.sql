@@ -0,0 +1,11 @@
+-- Lower-cased "first last" kept by the database. The "C" collation lets a plain b-tree index
+-- serve both equality and left-anchored LIKE prefixes, and return matches in index order.
+ALTER TABLE students ADD COLUMN IF NOT EXISTS search_name VARCHAR(511) COLLATE "C"
+    GENERATED ALWAYS AS (LOWER(first_name || ' ' || last_name)) STORED;
+
+ALTER TABLE teachers ADD COLUMN IF NOT EXISTS search_name VARCHAR(511) COLLATE "C"
+    GENERATED ALWAYS AS (LOWER(first_name || ' ' || last_name)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_students_search_name_id ON students (search_name, id);
+
+CREATE INDEX IF NOT EXISTS idx_teachers_search_name_id ON teachers (search_name, id);
@@ -0,0 +1,52 @@
+package com.gotinite.course_management.cache;
+
+import com.gotinite.course_management.repositories.CourseRepository;
+import com.gotinite.course_management.repositories.StudentRepository;
+import com.gotinite.course_management.repositories.TeacherRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class NaturalKeyCacheTest {
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final TeacherRepository teacherRepository = mock(TeacherRepository.class);
+    private final CourseRepository courseRepository = mock(CourseRepository.class);
+    private final NaturalKeyCache underTest =
+            new NaturalKeyCache(studentRepository, teacherRepository, courseRepository, 100);
+
+    @Test
+    void resolvedKeysShouldBeServedFromCache() {
+        when(studentRepository.findIdByEmail("ivan.ivanov@example.com")).thenReturn(Optional.of(1L));
+        assertThat(underTest.studentId("ivan.ivanov@example.com")).contains(1L);
+        assertThat(underTest.studentId("ivan.ivanov@example.com")).contains(1L);
+        verify(studentRepository, times(1)).findIdByEmail("ivan.ivanov@example.com");
+    }
+
+    @Test
+    void unknownKeysShouldNotBeCached() {
+        when(courseRepository.findIdByName("Math")).thenReturn(Optional.empty(), Optional.of(1L));
+        assertThat(underTest.courseId("Math")).isEmpty();
+        assertThat(underTest.courseId("Math")).contains(1L);
+        verify(courseRepository, times(2)).findIdByName("Math");
+    }
+
+    @Test
+    void evictedKeysShouldBeResolvedAgain() {
+        when(teacherRepository.findIdByEmail("angel.angelov@example.com"))
+                .thenReturn(Optional.of(1L), Optional.empty());
+        assertThat(underTest.teacherId("angel.angelov@example.com")).contains(1L);
+        underTest.evictTeacher("angel.angelov@example.com");
+        assertThat(underTest.teacherId("angel.angelov@example.com")).isEmpty();
+        verify(teacherRepository, times(2)).findIdByEmail("angel.angelov@example.com");
+    }
+
+    @Test
+    void nullKeysShouldNotHitTheRepository() {
+        assertThat(underTest.studentId(null)).isEmpty();
+        verifyNoInteractions(studentRepository);
+    }
+}
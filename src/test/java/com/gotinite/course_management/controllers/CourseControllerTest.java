@@ -1,7 +1,7 @@
 package com.gotinite.course_management.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.gotinite.course_management.dtos.CourseDto;
+import com.gotinite.course_management.dtos.*;
 import com.gotinite.course_management.models.*;
 import com.gotinite.course_management.services.*;
 import org.junit.jupiter.api.Test;
@@ -14,7 +14,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -41,6 +45,12 @@ public class CourseControllerTest {
     @MockBean
     private EnrollmentService enrollmentService;
 
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private TranscriptService transcriptService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -57,6 +67,48 @@ public class CourseControllerTest {
                 .andExpect(jsonPath("$.courses[0].id").value(1));
     }
 
+    @Test
+    void fetchCoursesWithCursorShouldReturnLastPage() throws Exception {
+        String cursor = new KeysetCursor(1L, null).encode();
+        when(courseService.getCoursesAfter(cursor, 10, "id"))
+                .thenReturn(new KeysetPage<>(getCoursesList(), null));
+        mockMvc.perform(get("/page/courses")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courses[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").isEmpty())
+                .andExpect(jsonPath("$.approximateTotalElements").doesNotExist());
+    }
+
+    @Test
+    void exportGradesShouldStreamCsv() throws Exception {
+        ExportFilter filter = new ExportFilter(1L, null, null, null);
+        when(exportService.filter("Math", null, LocalDate.of(2025, 1, 1), null)).thenReturn(filter);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("id,value\n1,5.0\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).writeGrades(eq(filter), eq(ExportFormat.CSV), any());
+        MvcResult result = mockMvc.perform(get("/export/grades")
+                        .param("format", "csv")
+                        .param("courseName", "Math")
+                        .param("from", "2025-01-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("id,value\n1,5.0\n"));
+    }
+
+    @Test
+    void exportEnrollmentsShouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/export/enrollments")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verify(exportService, never()).writeEnrollments(any(), any(), any());
+    }
+
     @Test
     void getCoursesByStatusShouldReturnCourses() throws Exception {
         when(courseService.getCoursesByStatus(eq("ACTIVE"))).thenReturn(getCoursesList());
@@ -73,10 +125,10 @@ public class CourseControllerTest {
         mockMvc.perform(get("/course/enrollments")
                         .param("name", "Math"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].status").value("Successful"))
-                .andExpect(jsonPath("$[1].status").value("Successful"))
-                .andExpect(jsonPath("$[0].student.firstName").value("Ivan"))
-                .andExpect(jsonPath("$[1].student.firstName").value("Anton"));
+                .andExpect(jsonPath("$[0].status").value("SUCCESSFUL"))
+                .andExpect(jsonPath("$[1].status").value("SUCCESSFUL"))
+                .andExpect(jsonPath("$[0].studentEmail").value("ivan.ivanov@example.com"))
+                .andExpect(jsonPath("$[1].studentEmail").value("anton.antonov@example.com"));
     }
 
     @Test
@@ -94,7 +146,35 @@ public class CourseControllerTest {
         mockMvc.perform(get("/course/grades")
                         .param("name", "Math"))
                 .andExpect(jsonPath("$[0].value").value(5.2))
-                .andExpect(jsonPath("$[1].value").value(4.7));
+                .andExpect(jsonPath("$[1].value").value(4.7))
+                .andExpect(jsonPath("$[0].courseName").value("Math"));
+    }
+
+    @Test
+    void getGradeStatsShouldReturnCourseStats() throws Exception {
+        CourseGradeStatsView stats = new CourseGradeStatsView("Math", 2L, 9.9, 24.53, 4.7, 5.2, 0L, 0L, 1L, 1L, 0L);
+        when(gradeService.getStatsByCourse("Math")).thenReturn(Optional.of(stats));
+        mockMvc.perform(get("/course/grade-stats")
+                        .param("name", "Math"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].average").value(4.95))
+                .andExpect(jsonPath("$[0].distribution.4").value(1));
+    }
+
+    @Test
+    void getCourseTranscriptsShouldReturnTranscriptPerStudent() throws Exception {
+        Map<String, TranscriptView> transcripts = new LinkedHashMap<>();
+        transcripts.put("ivan.ivanov@example.com",
+                TranscriptView.of(List.of(new TranscriptTermRow(1L, 2026, 1, 1L, 5.0, 1L, 5.0))));
+        transcripts.put("petar.petrov@example.com", TranscriptView.EMPTY);
+        when(transcriptService.getByCourse("Math")).thenReturn(transcripts);
+        mockMvc.perform(get("/course/transcripts")
+                        .param("name", "Math"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['ivan.ivanov@example.com'].gpa").value(5.0))
+                .andExpect(jsonPath("$['petar.petrov@example.com'].courses").value(0))
+                .andExpect(jsonPath("$['petar.petrov@example.com'].terms").isEmpty());
     }
 
     @Test
@@ -120,6 +200,32 @@ public class CourseControllerTest {
         verify(courseService).updateCourseStatus(eq(status), eq(courseDto));
     }
 
+    @Test
+    void updateCourseCapacityBelowSeatsTakenShouldReturnBadRequest() throws Exception {
+        CourseDto courseDto = new CourseDto("Math", "Active");
+        doThrow(new IllegalArgumentException("The capacity cannot be lower than the number of enrolled students!"))
+                .when(courseService).updateCourseCapacity(1, courseDto);
+        mockMvc.perform(put("/update/course-capacity")
+                        .param("capacity", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(courseDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error")
+                        .value("The capacity cannot be lower than the number of enrolled students!"));
+        verify(courseService).updateCourseCapacity(eq(1), eq(courseDto));
+    }
+
+    @Test
+    void updateCourseCreditsShouldReturnAccepted() throws Exception {
+        CourseDto courseDto = new CourseDto("Math", "Active");
+        mockMvc.perform(put("/update/course-credits")
+                        .param("credits", "4")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(courseDto)))
+                .andExpect(status().isAccepted());
+        verify(courseService).updateCourseCredits(eq(4), eq(courseDto));
+    }
+
     @Test
     void updateCourseNameShouldReturnAccepted() throws Exception {
         String name = "Math Advanced";
@@ -172,70 +278,46 @@ public class CourseControllerTest {
         Course course = new Course();
         course.setId(1L);
         course.setName("Math");
-        course.setStatus("ACTIVE");
+        course.setStatus(CourseStatus.ACTIVE);
         return course;
     }
 
-    private List<Course> getCoursesList() {
-        return List.of(getMockedCourse());
+    private CourseView getCourseView() {
+        return new CourseView(1L, "Math", CourseStatus.ACTIVE, "hristo.hristov@example.com");
     }
 
-    private Page<Course> getCoursePage() {
+    private List<CourseView> getCoursesList() {
+        return List.of(getCourseView());
+    }
+
+    private Page<CourseView> getCoursePage() {
         Pageable pageable = PageRequest.of(0, 10);
-        return new PageImpl<>(List.of(getMockedCourse()), pageable, 1L);
+        return new PageImpl<>(List.of(getCourseView()), pageable, 1L);
     }
 
-    private List<Enrollment> getEnrollments() {
-        Course course = getMockedCourse();
-        Student firstStudent = new Student();
-        firstStudent.setFirstName("Ivan");
-        Student secondStudent = new Student();
-        secondStudent.setFirstName("Anton");
+    private List<EnrollmentView> getEnrollments() {
         return Arrays.asList(
-                new Enrollment("Successful", course, firstStudent),
-                new Enrollment("Successful", course, secondStudent)
+                new EnrollmentView(1L, EnrollmentStatus.SUCCESSFUL, "Math", "ivan.ivanov@example.com"),
+                new EnrollmentView(2L, EnrollmentStatus.SUCCESSFUL, "Math", "anton.antonov@example.com")
         );
     }
 
-    private List<Student> getStudents() {
-        Course course = getMockedCourse();
-        Student firstStudent = new Student();
-        firstStudent.setFirstName("Ivan");
-        firstStudent.setCourses(new HashSet<>());
-        Student secondStudent = new Student();
-        secondStudent.setFirstName("Anton");
-        secondStudent.setCourses(new HashSet<>());
-        firstStudent.getCourses().add(course);
-        secondStudent.getCourses().add(course);
-        List<Student> students = new ArrayList<>();
-        students.add(firstStudent);
-        students.add(secondStudent);
-        return  students;
-    }
-
-    private List<Grade> getGrades() {
-        Course course = getMockedCourse();
-        course.setGrades(new HashSet<>());
-        Grade firstGrade = new Grade();
-        firstGrade.setValue(5.2);
-        Grade secondGrade = new Grade();
-        secondGrade.setValue(4.7);
-        course.getGrades().add(firstGrade);
-        course.getGrades().add(secondGrade);
+    private List<StudentView> getStudents() {
         return Arrays.asList(
-                firstGrade,
-                secondGrade
+                new StudentView(1L, "Ivan", "Ivanov", "ivan.ivanov@example.com"),
+                new StudentView(2L, "Anton", "Antonov", "anton.antonov@example.com")
         );
     }
 
-    private Teacher getTeacher() {
-        Course course = getMockedCourse();
-        Teacher teacher = new Teacher();
-        teacher.setFirstName("Hristo");
-        teacher.setLastName("Hristov");
-        teacher.setCourses(new HashSet<>());
-        teacher.getCourses().add(course);
-        return teacher;
+    private List<GradeView> getGrades() {
+        return Arrays.asList(
+                new GradeView(1L, 5.2, "ivan.ivanov@example.com", "Math", "hristo.hristov@example.com"),
+                new GradeView(2L, 4.7, "anton.antonov@example.com", "Math", "hristo.hristov@example.com")
+        );
+    }
+
+    private TeacherView getTeacher() {
+        return new TeacherView(1L, "Hristo", "Hristov", "hristo.hristov@example.com");
     }
 
     private static String asJsonString(final Object obj) {
@@ -0,0 +1,105 @@
+package com.gotinite.course_management.controllers;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static com.gotinite.course_management.monitoring.QueryCount.queryCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the statements each read endpoint runs against the full application and database. Natural
+ * keys are cached after the first lookup, so every request is made once before it is measured.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Sql(scripts = "/sql/data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class QueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void fetchStudentsShouldReadOnePage() throws Exception {
+        perform(get("/page/students").param("perPage", "10"))
+                .andExpect(queryCount(1))
+                .andExpect(jsonPath("$.totalElements").value(2));
+        perform(get("/page/students").param("cursor", "").param("perPage", "1"))
+                .andExpect(queryCount(1))
+                .andExpect(jsonPath("$.students.length()").value(1));
+    }
+
+    @Test
+    void studentCoursesShouldNotLoadLazily() throws Exception {
+        perform(get("/student/courses").param("email", "ivan.ivanov@example.com"))
+                .andExpect(queryCount(1))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void courseStudentsShouldNotLoadLazily() throws Exception {
+        perform(get("/course/students").param("name", "Physics"))
+                .andExpect(queryCount(1))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void courseGradesShouldNotLoadLazily() throws Exception {
+        perform(get("/course/grades").param("name", "Math"))
+                .andExpect(queryCount(1))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void teacherCoursesShouldNotLoadLazily() throws Exception {
+        perform(get("/teacher/courses").param("email", "angel.angelov@example.com"))
+                .andExpect(queryCount(1))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void fetchAsyncShouldRecordTheStatementsOfEveryThread() throws Exception {
+        // two student pages and three course pages, each read on the fan-out pool
+        assertThat(streamedQueries("/fetch/async", get("/fetch/async").param("pageSize", "1"))).isEqualTo(5);
+    }
+
+    @Test
+    void exportShouldRecordTheStatementsOfTheStreamingThread() throws Exception {
+        // the rows are read while streaming, after the handler has returned
+        assertThat(streamedQueries("/export/grades", get("/export/grades"))).isEqualTo(1);
+    }
+
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+        return mockMvc.perform(request).andExpect(status().isOk());
+    }
+
+    private double streamedQueries(String uri, RequestBuilder request) throws Exception {
+        DistributionSummary queries = meterRegistry.find("http.server.requests.queries").tag("uri", uri).summary();
+        double before = queries == null ? 0 : queries.totalAmount();
+
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        return meterRegistry.get("http.server.requests.queries").tag("uri", uri).summary().totalAmount() - before;
+    }
+}
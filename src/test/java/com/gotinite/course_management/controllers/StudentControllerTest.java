@@ -1,10 +1,11 @@
 package com.gotinite.course_management.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.gotinite.course_management.dtos.StudentDto;
+import com.gotinite.course_management.dtos.*;
 import com.gotinite.course_management.models.Course;
+import com.gotinite.course_management.models.CourseStatus;
 import com.gotinite.course_management.models.Enrollment;
-import com.gotinite.course_management.models.Grade;
+import com.gotinite.course_management.models.EnrollmentStatus;
 import com.gotinite.course_management.models.Student;
 import com.gotinite.course_management.services.*;
 import org.junit.jupiter.api.Test;
@@ -17,16 +18,21 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = StudentController.class)
@@ -44,6 +50,15 @@ public class StudentControllerTest {
     @MockBean
     private EnrollmentService enrollmentService;
 
+    @MockBean
+    private AggregateService aggregateService;
+
+    @MockBean
+    private ImportService importService;
+
+    @MockBean
+    private TranscriptService transcriptService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -59,6 +74,68 @@ public class StudentControllerTest {
                 .andExpect(jsonPath("$.students[0].id").value(1));
     }
 
+    @Test
+    void fetchStudentsWithCursorShouldReturnNextCursor() throws Exception {
+        String nextCursor = new KeysetCursor(1L, null).encode();
+        when(studentService.getStudentsAfter("", 1, "id"))
+                .thenReturn(new KeysetPage<>(getStudentList(), nextCursor));
+        when(studentService.getApproximateStudentCount()).thenReturn(2L);
+        mockMvc.perform(get("/page/students")
+                        .param("perPage", "1")
+                        .param("cursor", "")
+                        .param("approximateCount", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor))
+                .andExpect(jsonPath("$.approximateTotalElements").value(2))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+        verify(studentService, never()).getAllStudents(any());
+    }
+
+    @Test
+    void fetchStudentsWithInvalidCursorShouldReturnBadRequest() throws Exception {
+        when(studentService.getStudentsAfter("not-a-cursor", 10, "id"))
+                .thenThrow(new IllegalArgumentException("Invalid cursor!"));
+        mockMvc.perform(get("/page/students")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor!"));
+    }
+
+    @Test
+    void fetchAsyncShouldStreamStudentsAndCourses() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"students\":[{\"id\":1}],\"courses\":[]}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(aggregateService).writeStudentsAndCourses(any(), eq(100));
+        MvcResult result = mockMvc.perform(get("/fetch/async")
+                        .param("pageSize", "100"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students[0].id").value(1))
+                .andExpect(jsonPath("$.courses").isEmpty());
+        verify(aggregateService, times(1)).writeStudentsAndCourses(any(), eq(100));
+    }
+
+    @Test
+    void importStudentsShouldReturnReport() throws Exception {
+        ImportReport report = new ImportReport(1, 1,
+                List.of(new ImportRowError(3, "ivan.ivanov@example.com", "Duplicate email in file!")));
+        when(importService.importStudents(any())).thenReturn(report);
+        mockMvc.perform(post("/import/students")
+                        .contentType("text/csv")
+                        .content("firstName,lastName,email\n" +
+                                "Ivan,Ivanov,ivan.ivanov@example.com\n" +
+                                "Ivan,Ivanov,ivan.ivanov@example.com\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].error").value("Duplicate email in file!"));
+    }
+
     @Test
     void searchStudentsByFirstNameShouldReturnStudents() throws Exception {
         when(studentService.getStudentByFirstName("Ivan")).thenReturn(getStudentList());
@@ -83,6 +160,18 @@ public class StudentControllerTest {
         verify(studentService, times(1)).getStudentByLastName("Ivanov");
     }
 
+    @Test
+    void searchStudentsByPrefixShouldReturnStudents() throws Exception {
+        when(studentService.getStudentsByNamePrefix("iva", 5)).thenReturn(getStudentList());
+        mockMvc.perform(get("/student/search")
+                        .param("value", "iva")
+                        .param("type", "prefix")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].firstName").value("Ivan"));
+        verify(studentService, times(1)).getStudentsByNamePrefix("iva", 5);
+    }
+
     @Test
     void searchStudentsByFullNameShouldReturnStudents() throws Exception {
         when(studentService.getStudentByFullName("Ivan Ivanov")).thenReturn(getStudentList());
@@ -102,11 +191,11 @@ public class StudentControllerTest {
         mockMvc.perform(get("/student/enrollments")
                         .param("email", "ivan.ivanov@example.com"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].status").value("Successful"))
-                .andExpect(jsonPath("$[1].status").value("Unsuccessful"))
-                .andExpect(jsonPath("$[0].student.email").value("ivan.ivanov@example.com"))
-                .andExpect(jsonPath("$[0].course.name").value("Math"))
-                .andExpect(jsonPath("$[1].course.name").value("Java"));
+                .andExpect(jsonPath("$[0].status").value("SUCCESSFUL"))
+                .andExpect(jsonPath("$[1].status").value("UNSUCCESSFUL"))
+                .andExpect(jsonPath("$[0].studentEmail").value("ivan.ivanov@example.com"))
+                .andExpect(jsonPath("$[0].courseName").value("Math"))
+                .andExpect(jsonPath("$[1].courseName").value("Java"));
         verify(enrollmentService, times(1))
                 .getEnrollmentsByStudent("ivan.ivanov@example.com");
     }
@@ -120,43 +209,35 @@ public class StudentControllerTest {
                         .param("email", "ivan.ivanov@example.com")
                         .param("status", "Successful"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].student.email").value("ivan.ivanov@example.com"))
-                .andExpect(jsonPath("$[0].status").value("Successful"))
-                .andExpect(jsonPath("$[0].course.name").value("Math"));
+                .andExpect(jsonPath("$[0].studentEmail").value("ivan.ivanov@example.com"))
+                .andExpect(jsonPath("$[0].status").value("SUCCESSFUL"))
+                .andExpect(jsonPath("$[0].courseName").value("Math"));
         verify(enrollmentService, times(1))
                 .getEnrollmentsByStatus("Successful", "ivan.ivanov@example.com");
     }
 
     @Test
     void getStudentCoursesShouldReturnCourses() throws Exception {
-        Student student = getMockedStudent();
-        String email = student.getEmail();
-        List<Course> courses = getCourses();
-        courses.getFirst().getStudents().add(student);
-        courses.getLast().getStudents().add(student);
-        when(courseService.getCoursesByStudent(email)).thenReturn(courses);
+        String email = getMockedStudent().email();
+        when(courseService.getCoursesByStudent(email)).thenReturn(getCourses());
         mockMvc.perform(get("/student/courses")
                         .param("email", email))
                 .andExpect(jsonPath("$[0].name").value("Math"))
                 .andExpect(jsonPath("$[1].name").value("Java"))
-                .andExpect(jsonPath("$[0].students[0].firstName").value("Ivan"))
-                .andExpect(jsonPath("$[1].students[0].firstName").value("Ivan"));
+                .andExpect(jsonPath("$[0].teacherEmail").value("hristo.hristov@example.com"))
+                .andExpect(jsonPath("$[0].students").doesNotExist());
         verify(courseService, times(1)).getCoursesByStudent(email);
     }
 
     @Test
     void getStudentGradesWithoutCourseShouldReturnGrades() throws Exception {
-        Student student = getMockedStudent();
-        String email = student.getEmail();
-        List<Grade> grades = getGrades();
-        grades.getFirst().setStudent(student);
-        grades.getLast().setStudent(student);
-        when(gradeService.getByStudent(email)).thenReturn(grades);
+        String email = getMockedStudent().email();
+        when(gradeService.getByStudent(email)).thenReturn(getGrades());
         mockMvc.perform(get("/student/grades")
                         .param("email", email))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].student.id").value(1L))
-                .andExpect(jsonPath("$[1].student.id").value(1L))
+                .andExpect(jsonPath("$[0].studentEmail").value(email))
+                .andExpect(jsonPath("$[1].studentEmail").value(email))
                 .andExpect(jsonPath("$[0].value").value(5.2))
                 .andExpect(jsonPath("$[1].value").value(4.7));
         verify(gradeService, times(1)).getByStudent(email);
@@ -164,22 +245,67 @@ public class StudentControllerTest {
 
     @Test
     void getStudentGradeForCourseShouldReturnGrade() throws Exception {
-        Student student = getMockedStudent();
-        String email = student.getEmail();
-        Grade grade = getGrades().getFirst();
-        Course course = getCourses().getFirst();
-        grade.setStudent(student);
-        grade.setCourse(course);
-        when(gradeService.getByStudentAndCourse(email, course.getName())).thenReturn(Optional.of(grade));
+        String email = getMockedStudent().email();
+        GradeView grade = getGrades().getFirst();
+        when(gradeService.getByStudentAndCourse(email, grade.courseName())).thenReturn(Optional.of(grade));
         mockMvc.perform(get("/student/grades")
                         .param("email", email)
-                        .param("courseName", course.getName()))
+                        .param("courseName", grade.courseName()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.value").value(5.2))
-                .andExpect(jsonPath("$.student.id").value(1L))
-                .andExpect(jsonPath("$.course.name").value("Math"));
+                .andExpect(jsonPath("$.studentEmail").value(email))
+                .andExpect(jsonPath("$.courseName").value("Math"));
         verify(gradeService, times(1))
-                .getByStudentAndCourse(email, course.getName());
+                .getByStudentAndCourse(email, grade.courseName());
+    }
+
+    @Test
+    void getStudentRankShouldReturnSchoolRankWithoutCourse() throws Exception {
+        String email = getMockedStudent().email();
+        when(gradeService.getSchoolRank(email)).thenReturn(Optional.of(new RankView(4.95, 3, 40, 95.0)));
+        mockMvc.perform(get("/student/rank")
+                        .param("email", email))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(3))
+                .andExpect(jsonPath("$.outOf").value(40))
+                .andExpect(jsonPath("$.percentile").value(95.0));
+        verify(gradeService, never()).getCourseRank(any(), any());
+    }
+
+    @Test
+    void getStudentRankWithoutGradeShouldReturnNotFound() throws Exception {
+        String email = getMockedStudent().email();
+        when(gradeService.getCourseRank(email, "Math")).thenReturn(Optional.empty());
+        mockMvc.perform(get("/student/rank")
+                        .param("email", email)
+                        .param("courseName", "Math"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getStudentTranscriptShouldReturnTermSummaries() throws Exception {
+        String email = getMockedStudent().email();
+        TranscriptView transcript = TranscriptView.of(List.of(
+                new TranscriptTermRow(1L, 2025, 2, 2L, 9.0, 5L, 21.0),
+                new TranscriptTermRow(1L, 2026, 1, 1L, 6.0, 1L, 6.0)));
+        when(transcriptService.getByStudent(email)).thenReturn(transcript);
+        mockMvc.perform(get("/student/transcript")
+                        .param("email", email))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courses").value(3))
+                .andExpect(jsonPath("$.gpa").value(5.0))
+                .andExpect(jsonPath("$.weightedAverage").value(4.5))
+                .andExpect(jsonPath("$.terms[0].weightedAverage").value(4.2))
+                .andExpect(jsonPath("$.terms[1].year").value(2026));
+    }
+
+    @Test
+    void getUnknownStudentTranscriptShouldReturnNotFound() throws Exception {
+        when(transcriptService.getByStudent("unknown@example.com"))
+                .thenThrow(new IllegalArgumentException("Student not found!"));
+        mockMvc.perform(get("/student/transcript")
+                        .param("email", "unknown@example.com"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -201,7 +327,11 @@ public class StudentControllerTest {
     void createStudentShouldReturnCreatedStudent() throws Exception {
         StudentDto dto = new StudentDto(
                 "Ivan", "Ivanov", "ivan.ivanov@example.com");
-        Student student = getMockedStudent();
+        Student student = new Student();
+        student.setId(1L);
+        student.setFirstName("Ivan");
+        student.setLastName("Ivanov");
+        student.setEmail("ivan.ivanov@example.com");
         when(studentService.createStudent(dto)).thenReturn(student);
         mockMvc.perform(post("/create/student")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -216,10 +346,11 @@ public class StudentControllerTest {
 
     @Test
     void enrollStudentToCourseShouldReturnEnrollment() throws Exception {
-        Student student = getMockedStudent();
+        Student student = new Student();
+        student.setEmail("ivan.ivanov@example.com");
         Course course = new Course();
         course.setName("Physics");
-        Enrollment enrollment = new Enrollment("Successful", course, student);
+        Enrollment enrollment = new Enrollment(EnrollmentStatus.SUCCESSFUL, course, student);
 
         when(enrollmentService.enrollStudentToCourse(
                 course.getName(), student.getEmail())).thenReturn(enrollment);
@@ -233,57 +364,128 @@ public class StudentControllerTest {
                 .enrollStudentToCourse(course.getName(), student.getEmail());
     }
 
-    private Student getMockedStudent() {
+    @Test
+    void createStudentRetriedWithIdempotencyKeyShouldReturnTheFirstResponse() throws Exception {
+        StudentDto dto = new StudentDto("Maria", "Petrova", "maria.petrova@example.com");
         Student student = new Student();
-        student.setId(1L);
-        student.setFirstName("Ivan");
-        student.setLastName("Ivanov");
-        student.setEmail("ivan.ivanov@example.com");
-        student.setGrades(new HashSet<>());
-        return  student;
+        student.setId(7L);
+        student.setEmail(dto.email());
+        when(studentService.createStudent(dto)).thenReturn(student);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/create/student")
+                            .header("Idempotency-Key", "create-maria")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(dto)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(7L));
+        }
+        mockMvc.perform(post("/create/student")
+                        .header("Idempotency-Key", "create-maria")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(dto)))
+                .andExpect(header().string("Idempotent-Replayed", "true"));
+        verify(studentService, times(1)).createStudent(dto);
+
+        mockMvc.perform(post("/create/student")
+                        .header("Idempotency-Key", "create-maria")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new StudentDto("Maria", "Petrova", "maria.p@example.com"))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void enrollmentFailingWithServerErrorShouldRunAgainOnRetry() throws Exception {
+        when(enrollmentService.enrollStudentToCourse("Math", "petar.petrov@example.com"))
+                .thenThrow(new RuntimeException("Connection is not available"))
+                .thenReturn(new Enrollment());
+        mockMvc.perform(post("/student/enroll-to-course")
+                        .header("Idempotency-Key", "enroll-petar")
+                        .param("courseName", "Math")
+                        .param("studentEmail", "petar.petrov@example.com"))
+                .andExpect(status().isInternalServerError());
+        mockMvc.perform(post("/student/enroll-to-course")
+                        .header("Idempotency-Key", "enroll-petar")
+                        .param("courseName", "Math")
+                        .param("studentEmail", "petar.petrov@example.com"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        verify(enrollmentService, times(2)).enrollStudentToCourse("Math", "petar.petrov@example.com");
+    }
+
+    @Test
+    void enrollStudentToFullCourseShouldReturnConflict() throws Exception {
+        when(enrollmentService.enrollStudentToCourse("Physics", "ivan.ivanov@example.com"))
+                .thenThrow(new IllegalStateException("The course is full!"));
+        mockMvc.perform(post("/student/enroll-to-course")
+                        .param("courseName", "Physics")
+                        .param("studentEmail", "ivan.ivanov@example.com"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("The course is full!"));
+    }
+
+    @Test
+    void enrollStudentsToCourseShouldReturnResults() throws Exception {
+        BulkEnrollmentDto dto = new BulkEnrollmentDto("Physics", List.of(
+                "ivan.ivanov@example.com", "petar.petrov@example.com", "missing@example.com"));
+        when(enrollmentService.enrollStudentsToCourse(dto)).thenReturn(List.of(
+                new EnrollmentResult("ivan.ivanov@example.com", EnrollmentOutcome.CREATED),
+                new EnrollmentResult("petar.petrov@example.com", EnrollmentOutcome.DUPLICATE),
+                new EnrollmentResult("missing@example.com", EnrollmentOutcome.UNKNOWN_STUDENT)));
+        mockMvc.perform(post("/student/bulk-enroll-to-course")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$[1].outcome").value("DUPLICATE"))
+                .andExpect(jsonPath("$[2].studentEmail").value("missing@example.com"))
+                .andExpect(jsonPath("$[2].outcome").value("UNKNOWN_STUDENT"));
+        verify(enrollmentService, times(1)).enrollStudentsToCourse(dto);
+    }
+
+    @Test
+    void enrollStudentsToUnknownCourseShouldReturnBadRequest() throws Exception {
+        BulkEnrollmentDto dto = new BulkEnrollmentDto("Chemistry", List.of("ivan.ivanov@example.com"));
+        when(enrollmentService.enrollStudentsToCourse(dto))
+                .thenThrow(new IllegalArgumentException("Course not found!"));
+        mockMvc.perform(post("/student/bulk-enroll-to-course")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private StudentView getMockedStudent() {
+        return new StudentView(1L, "Ivan", "Ivanov", "ivan.ivanov@example.com");
     }
 
-    private List<Student> getStudentList() {
+    private List<StudentView> getStudentList() {
         return List.of(getMockedStudent());
     }
 
-    private Page<Student> getStudentPage() {
+    private Page<StudentView> getStudentPage() {
         Pageable pageable = PageRequest.of(0, 10);
         return new PageImpl<>(List.of(getMockedStudent()), pageable, 1L);
     }
 
-    private List<Course> getCourses() {
-        Course mathCourse = new Course();
-        mathCourse.setName("Math");
-        mathCourse.setStatus("Active");
-        mathCourse.setStudents(new HashSet<>());
-        Course javaCourse = new Course();
-        javaCourse.setName("Java");
-        javaCourse.setStatus("Pending");
-        javaCourse.setStudents(new HashSet<>());
+    private List<CourseView> getCourses() {
         return Arrays.asList(
-                mathCourse,
-                javaCourse
+                new CourseView(1L, "Math", CourseStatus.ACTIVE, "hristo.hristov@example.com"),
+                new CourseView(2L, "Java", CourseStatus.PENDING, "hristo.hristov@example.com")
         );
     }
 
-    private List<Enrollment> getEnrollments() {
-        List<Course> courses = getCourses();
-        Student student = getMockedStudent();
+    private List<EnrollmentView> getEnrollments() {
+        String email = getMockedStudent().email();
         return Arrays.asList(
-                new Enrollment("Successful", courses.getFirst(), student),
-                new Enrollment("Unsuccessful", courses.getLast(), student)
+                new EnrollmentView(1L, EnrollmentStatus.SUCCESSFUL, "Math", email),
+                new EnrollmentView(2L, EnrollmentStatus.UNSUCCESSFUL, "Java", email)
         );
     }
 
-    private List<Grade> getGrades() {
-        Grade firstGrade = new Grade();
-        firstGrade.setValue(5.2);
-        Grade secondGrade = new Grade();
-        secondGrade.setValue(4.7);
+    private List<GradeView> getGrades() {
+        String email = getMockedStudent().email();
         return Arrays.asList(
-                firstGrade,
-                secondGrade
+                new GradeView(1L, 5.2, email, "Math", "hristo.hristov@example.com"),
+                new GradeView(2L, 4.7, email, "Java", "hristo.hristov@example.com")
         );
     }
 
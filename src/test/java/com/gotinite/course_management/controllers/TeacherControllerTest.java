@@ -1,13 +1,25 @@
 package com.gotinite.course_management.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gotinite.course_management.dtos.BulkGradeDto;
+import com.gotinite.course_management.dtos.CourseView;
+import com.gotinite.course_management.dtos.GradeEntryDto;
+import com.gotinite.course_management.dtos.GradeOutcome;
+import com.gotinite.course_management.dtos.GradeResult;
+import com.gotinite.course_management.dtos.GradeSubmissionView;
+import com.gotinite.course_management.dtos.GradeView;
+import com.gotinite.course_management.dtos.SubmissionStatus;
 import com.gotinite.course_management.dtos.TeacherDto;
+import com.gotinite.course_management.dtos.TeacherView;
 import com.gotinite.course_management.models.Course;
+import com.gotinite.course_management.models.CourseStatus;
 import com.gotinite.course_management.models.Grade;
 import com.gotinite.course_management.models.Student;
 import com.gotinite.course_management.models.Teacher;
 import com.gotinite.course_management.services.CourseService;
 import com.gotinite.course_management.services.GradeService;
+import com.gotinite.course_management.services.GradeSubmissionService;
+import com.gotinite.course_management.services.ImportService;
 import com.gotinite.course_management.services.TeacherService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +35,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -41,6 +54,12 @@ public class TeacherControllerTest {
     @MockBean
     private TeacherService teacherService;
 
+    @MockBean
+    private ImportService importService;
+
+    @MockBean
+    private GradeSubmissionService gradeSubmissionService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -56,6 +75,16 @@ public class TeacherControllerTest {
                 .andExpect(jsonPath("$.teachers[0].id").value(1));
     }
 
+    @Test
+    void importTeachersShouldRejectInvalidHeader() throws Exception {
+        when(importService.importTeachers(any())).thenThrow(new IllegalArgumentException("Invalid CSV header!"));
+        mockMvc.perform(post("/import/teachers")
+                        .contentType("text/csv")
+                        .content("name,email\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid CSV header!"));
+    }
+
     @Test
     void searchTeachersByFirstNameShouldReturnTeachers() throws Exception {
         when(teacherService.getTeachersByFirstName("Angel")).thenReturn(getTeacherList());
@@ -92,20 +121,38 @@ public class TeacherControllerTest {
         verify(teacherService, times(1)).getTeachersByFullName("Angel Angelov");
     }
 
+    @Test
+    void searchTeachersByFuzzyNameShouldReturnTeachers() throws Exception {
+        when(teacherService.getTeachersByFuzzyName("angl angelv", 10)).thenReturn(getTeacherList());
+        mockMvc.perform(get("/teacher/search")
+                        .param("value", "angl angelv")
+                        .param("type", "fuzzy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].firstName").value("Angel"));
+        verify(teacherService, times(1)).getTeachersByFuzzyName("angl angelv", 10);
+    }
+
+    @Test
+    void searchTeachersByFuzzyNameShouldRejectInvalidLimit() throws Exception {
+        when(teacherService.getTeachersByFuzzyName("angel", 0))
+                .thenThrow(new IllegalArgumentException("The limit must be positive!"));
+        mockMvc.perform(get("/teacher/search")
+                        .param("value", "angel")
+                        .param("type", "fuzzy")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getTeacherCoursesShouldReturnCourses() throws Exception {
-        Teacher teacher = getMockedTeacher();
-        String email = teacher.getEmail();
-        List<Course> courses = getCourses();
-        courses.getFirst().setTeacher(teacher);
-        courses.getLast().setTeacher(teacher);
-        when(courseService.getCoursesByTeacher(email)).thenReturn(courses);
+        String email = getMockedTeacher().getEmail();
+        when(courseService.getCoursesByTeacher(email)).thenReturn(getCourses());
         mockMvc.perform(get("/teacher/courses")
                         .param("email", email))
                 .andExpect(jsonPath("$[0].name").value("Math"))
                 .andExpect(jsonPath("$[1].name").value("Java"))
-                .andExpect(jsonPath("$[0].teacher.firstName").value("Angel"))
-                .andExpect(jsonPath("$[1].teacher.firstName").value("Angel"));
+                .andExpect(jsonPath("$[0].teacherEmail").value(email))
+                .andExpect(jsonPath("$[1].teacherEmail").value(email));
         verify(courseService, times(1)).getCoursesByTeacher(email);
     }
 
@@ -116,7 +163,8 @@ public class TeacherControllerTest {
         mockMvc.perform(get("/teacher/grades")
                         .param("email", email))
                 .andExpect(jsonPath("$[0].value").value(5.2))
-                .andExpect(jsonPath("$[1].value").value(4.7));
+                .andExpect(jsonPath("$[1].value").value(4.7))
+                .andExpect(jsonPath("$[0].teacherEmail").value(email));
         verify(gradeService, times(1)).getByTeacher(email);
     }
 
@@ -169,31 +217,78 @@ public class TeacherControllerTest {
 
     @Test
     void addGradeShouldReturnCreatedGrade() throws Exception {
-        Teacher teacher = getMockedTeacher();
-        Student student = new Student();
-        student.setFirstName("Ivan");
-        student.setEmail("ivan.ivanov@example.com");
-        Course course = getCourses().getFirst();
-        Grade newGrade = getGrades().getFirst();
-        newGrade.setValue(5.5);
-        newGrade.setStudent(student);
-        newGrade.setTeacher(teacher);
-        newGrade.setCourse(course);
-
-        when(gradeService.addGrade(student.getEmail(), course.getName(), teacher.getEmail(), newGrade.getValue()))
+        GradeView newGrade = new GradeView(1L, 5.5, "ivan.ivanov@example.com", "Math", "angel.angelov@example.com");
+        when(gradeService.addGrade("ivan.ivanov@example.com", "Math", "angel.angelov@example.com", 5.5))
                 .thenReturn(newGrade);
         mockMvc.perform(post("/add/grade")
-                        .param("studentEmail", student.getEmail())
-                        .param("courseName", course.getName())
-                        .param("teacherEmail", teacher.getEmail())
-                        .param("value", newGrade.getValue().toString()))
+                        .param("studentEmail", "ivan.ivanov@example.com")
+                        .param("courseName", "Math")
+                        .param("teacherEmail", "angel.angelov@example.com")
+                        .param("value", "5.5"))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.value").value(5.5))
-                .andExpect(jsonPath("$.student.email").value("ivan.ivanov@example.com"))
-                .andExpect(jsonPath("$.course.name").value("Math"))
-                .andExpect(jsonPath("$.teacher.email").value("angel.angelov@example.com"));
+                .andExpect(jsonPath("$.studentEmail").value("ivan.ivanov@example.com"))
+                .andExpect(jsonPath("$.courseName").value("Math"))
+                .andExpect(jsonPath("$.teacherEmail").value("angel.angelov@example.com"));
         verify(gradeService, times(1))
-                .addGrade(student.getEmail(), course.getName(), teacher.getEmail(), newGrade.getValue());
+                .addGrade("ivan.ivanov@example.com", "Math", "angel.angelov@example.com", 5.5);
+    }
+
+    @Test
+    void submitGradeShouldReturnAccepted() throws Exception {
+        when(gradeSubmissionService.submitGrade("ivan.ivanov@example.com", "Math", "angel.angelov@example.com", 5.5))
+                .thenReturn(new GradeSubmissionView(4294967296L, SubmissionStatus.QUEUED, null));
+        mockMvc.perform(post("/submit/grade")
+                        .param("studentEmail", "ivan.ivanov@example.com")
+                        .param("courseName", "Math")
+                        .param("teacherEmail", "angel.angelov@example.com")
+                        .param("value", "5.5"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(4294967296L))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void submitGradeToFullQueueShouldReturnServiceUnavailable() throws Exception {
+        when(gradeSubmissionService.submitGrade("ivan.ivanov@example.com", "Math", "angel.angelov@example.com", 5.5))
+                .thenThrow(new IllegalStateException("The submission queue is full!"));
+        mockMvc.perform(post("/submit/grade")
+                        .param("studentEmail", "ivan.ivanov@example.com")
+                        .param("courseName", "Math")
+                        .param("teacherEmail", "angel.angelov@example.com")
+                        .param("value", "5.5"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void getGradeSubmissionShouldReturnOutcome() throws Exception {
+        when(gradeSubmissionService.getSubmission(4294967296L))
+                .thenReturn(Optional.of(new GradeSubmissionView(4294967296L, SubmissionStatus.COMPLETED,
+                        GradeOutcome.NOT_ENROLLED)));
+        mockMvc.perform(get("/submission/grade")
+                        .param("id", "4294967296"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.outcome").value("NOT_ENROLLED"));
+        mockMvc.perform(get("/submission/grade")
+                        .param("id", "1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void addGradesShouldReturnOutcomes() throws Exception {
+        BulkGradeDto dto = new BulkGradeDto("Math", "angel.angelov@example.com", List.of(
+                new GradeEntryDto("ivan.ivanov@example.com", 5.5),
+                new GradeEntryDto("unknown@example.com", 4.0)));
+        when(gradeService.addGrades(dto)).thenReturn(List.of(
+                new GradeResult("ivan.ivanov@example.com", GradeOutcome.CREATED),
+                new GradeResult("unknown@example.com", GradeOutcome.UNKNOWN_STUDENT)));
+        mockMvc.perform(post("/add/grades")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$[1].outcome").value("UNKNOWN_STUDENT"));
     }
 
     private Teacher getMockedTeacher() {
@@ -207,36 +302,30 @@ public class TeacherControllerTest {
         return teacher;
     }
 
-    private List<Teacher> getTeacherList() {
-        return List.of(getMockedTeacher());
+    private TeacherView getTeacherView() {
+        return new TeacherView(1L, "Angel", "Angelov", "angel.angelov@example.com");
+    }
+
+    private List<TeacherView> getTeacherList() {
+        return List.of(getTeacherView());
     }
 
-    private Page<Teacher> getTeacherPage() {
+    private Page<TeacherView> getTeacherPage() {
         Pageable pageable = PageRequest.of(0, 10);
-        return new PageImpl<>(List.of(getMockedTeacher()), pageable, 1L);
+        return new PageImpl<>(List.of(getTeacherView()), pageable, 1L);
     }
 
-    private List<Course> getCourses() {
-        Course mathCourse = new Course();
-        mathCourse.setName("Math");
-        mathCourse.setStatus("Active");
-        Course javaCourse = new Course();
-        javaCourse.setName("Java");
-        javaCourse.setStatus("Pending");
+    private List<CourseView> getCourses() {
         return Arrays.asList(
-                mathCourse,
-                javaCourse
+                new CourseView(1L, "Math", CourseStatus.ACTIVE, "angel.angelov@example.com"),
+                new CourseView(2L, "Java", CourseStatus.PENDING, "angel.angelov@example.com")
         );
     }
 
-    private List<Grade> getGrades() {
-        Grade firstGrade = new Grade();
-        firstGrade.setValue(5.2);
-        Grade secondGrade = new Grade();
-        secondGrade.setValue(4.7);
+    private List<GradeView> getGrades() {
         return Arrays.asList(
-                firstGrade,
-                secondGrade
+                new GradeView(1L, 5.2, "ivan.ivanov@example.com", "Math", "angel.angelov@example.com"),
+                new GradeView(2L, 4.7, "petar.petrov@example.com", "Java", "angel.angelov@example.com")
         );
     }
 
@@ -0,0 +1,111 @@
+package com.gotinite.course_management.journal;
+
+import com.gotinite.course_management.dtos.GradeSubmission;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GradeJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void undrainedSubmissionsShouldBeRecoveredAfterReopening() {
+        Path file = directory.resolve("grades.journal");
+        GradeSubmission first;
+        GradeSubmission second;
+        try (GradeJournal journal = new GradeJournal(file, 10)) {
+            first = journal.append(1L, 2L, 3L, 5.5);
+            second = journal.append(4L, 2L, 3L, 4.0);
+            journal.append(5L, 2L, 3L, 3.0);
+            journal.markDrained(first.id());
+        }
+
+        try (GradeJournal journal = new GradeJournal(file, 10)) {
+            List<GradeSubmission> pending = journal.pending();
+            assertThat(pending).hasSize(2);
+            assertThat(pending.getFirst()).isEqualTo(second);
+            assertThat(journal.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void drainedJournalShouldStartOverUnderNewIds() {
+        Path file = directory.resolve("grades.journal");
+        try (GradeJournal journal = new GradeJournal(file, 2)) {
+            GradeSubmission first = journal.append(1L, 2L, 3L, 5.5);
+            GradeSubmission second = journal.append(4L, 2L, 3L, 4.0);
+            assertThatThrownBy(() -> journal.append(5L, 2L, 3L, 3.0))
+                    .isInstanceOf(IllegalStateException.class);
+
+            journal.markDrained(second.id());
+            GradeSubmission third = journal.append(5L, 2L, 3L, 3.0);
+            assertThat(third.id()).isNotIn(first.id(), second.id());
+            journal.markDrained(first.id());
+            assertThat(journal.size()).isEqualTo(1);
+        }
+
+        try (GradeJournal journal = new GradeJournal(file, 2)) {
+            assertThat(journal.pending()).extracting(GradeSubmission::studentId).containsExactly(5L);
+        }
+    }
+
+    @Test
+    void concurrentAppendsShouldReachTheConsumerInSlotOrder() throws Exception {
+        Path file = directory.resolve("grades.journal");
+        ConcurrentLinkedQueue<GradeSubmission> queue = new ConcurrentLinkedQueue<>();
+        try (GradeJournal journal = new GradeJournal(file, 4000);
+             ExecutorService submitters = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = IntStream.range(0, 8)
+                    .<Future<?>>mapToObj(thread -> submitters.submit(() -> {
+                        for (long i = 0; i < 500; i++) {
+                            journal.append(i, 2L, 3L, 5.0, queue::add);
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            List<Long> ids = queue.stream().map(GradeSubmission::id).toList();
+            assertThat(ids).hasSize(4000).isSorted();
+
+            // draining a prefix of the queue leaves exactly the rest of it pending
+            journal.markDrained(ids.get(1999));
+        }
+
+        try (GradeJournal journal = new GradeJournal(file, 4000)) {
+            assertThat(journal.pending()).containsExactlyElementsOf(queue.stream().skip(2000).toList());
+        }
+    }
+
+    @Test
+    void tornRecordShouldEndTheRecovery() throws Exception {
+        Path file = directory.resolve("grades.journal");
+        try (GradeJournal journal = new GradeJournal(file, 10)) {
+            journal.append(1L, 2L, 3L, 5.5);
+            journal.append(4L, 2L, 3L, 4.0);
+            journal.append(5L, 2L, 3L, 3.0);
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(64 + 48 + 32);
+            raw.writeDouble(6.0);
+        }
+
+        try (GradeJournal journal = new GradeJournal(file, 10)) {
+            assertThat(journal.pending()).extracting(GradeSubmission::studentId).containsExactly(1L);
+        }
+    }
+}
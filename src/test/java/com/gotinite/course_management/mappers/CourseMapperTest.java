@@ -2,6 +2,7 @@ package com.gotinite.course_management.mappers;
 
 import com.gotinite.course_management.dtos.CourseDto;
 import com.gotinite.course_management.models.Course;
+import com.gotinite.course_management.models.CourseStatus;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -22,23 +23,27 @@ class CourseMapperTest {
         assertThat(result)
                 .isNotNull()
                 .hasNoNullFieldsOrPropertiesExcept(emptyFields)
-                .extracting("name", "status")
-                .containsExactly(dto.name(), dto.status());
+                .extracting("name", "status", "credits")
+                .containsExactly(dto.name(), CourseStatus.of(dto.status()), dto.credits() == null ? 1 : dto.credits());
     }
 
     private static Stream<Arguments> paramProvider() {
         return Stream.of(
                 Arguments.of(
                         new CourseDto("Math", "ACTIVE"),
-                        new String[]{"id", "enrollments", "grades", "teacher", "students"}
+                        new String[]{"id", "enrollments", "grades", "teacher", "capacity"}
                 ),
                 Arguments.of(
                         new CourseDto("Programming with Java", "INACTIVE"),
-                        new String[]{"id", "enrollments", "grades", "teacher", "students"}
+                        new String[]{"id", "enrollments", "grades", "teacher", "capacity"}
+                ),
+                Arguments.of(
+                        new CourseDto("Databases", "ACTIVE", 4),
+                        new String[]{"id", "enrollments", "grades", "teacher", "capacity"}
                 ),
                 Arguments.of(
                         new CourseDto(null, "INACTIVE"),
-                        new String[]{"id", "enrollments", "grades", "teacher", "students"}
+                        new String[]{"id", "enrollments", "grades", "teacher", "capacity"}
                 )
         );
     }
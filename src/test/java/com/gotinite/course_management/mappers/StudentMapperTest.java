@@ -31,15 +31,15 @@ class StudentMapperTest {
         return Stream.of(
                 Arguments.of(
                         new StudentDto("Ivan", "Ivanov", "ivan.ivanov@example.com"),
-                        new String[]{"id", "enrollments", "grades", "courses"}
+                        new String[]{"id", "searchName", "enrollments", "grades"}
                 ),
                 Arguments.of(
                         new StudentDto(null, "Ivanov", "ivan.ivanov@example.com"),
-                        new String[]{"id", "enrollments", "grades", "courses"}
+                        new String[]{"id", "searchName", "enrollments", "grades"}
                 ),
                 Arguments.of(
                         new StudentDto("Ivan", null, null),
-                        new String[]{"id", "enrollments", "grades", "courses"}
+                        new String[]{"id", "searchName", "enrollments", "grades"}
                 )
         );
     }
@@ -31,15 +31,15 @@ class TeacherMapperTest {
         return Stream.of(
                 Arguments.of(
                         new TeacherDto("Petar", "Petrov", "petar.petrov@example.com"),
-                        new String[]{"id", "grades", "courses"}
+                        new String[]{"id", "searchName", "grades", "courses"}
                 ),
                 Arguments.of(
                         new TeacherDto(null, null, "petar.petrov@example.com"),
-                        new String[]{"id", "grades", "courses"}
+                        new String[]{"id", "searchName", "grades", "courses"}
                 ),
                 Arguments.of(
                         new TeacherDto("Petar", "Petrov", null),
-                        new String[]{"id", "grades", "courses"}
+                        new String[]{"id", "searchName", "grades", "courses"}
                 )
         );
     }
@@ -0,0 +1,41 @@
+package com.gotinite.course_management.monitoring;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertions on the JDBC work of a request, read from the headers written by {@link QueryStatsFilter}.
+ */
+public final class QueryCount {
+
+    private QueryCount() {
+    }
+
+    public static ResultMatcher queryCount(long expected) {
+        return result -> assertThat(statements(result.getResponse().getHeader(QueryStatsFilter.QUERY_COUNT_HEADER)))
+                .as("statements executed by %s", result.getRequest().getRequestURI())
+                .isEqualTo(expected);
+    }
+
+    public static ResultMatcher queryCountAtMost(long maximum) {
+        return result -> assertThat(statements(result.getResponse().getHeader(QueryStatsFilter.QUERY_COUNT_HEADER)))
+                .as("statements executed by %s", result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(maximum);
+    }
+
+    public static QueryStats during(Runnable work) {
+        QueryStats stats = QueryStats.start();
+        try {
+            work.run();
+            return stats;
+        } finally {
+            QueryStats.stop();
+        }
+    }
+
+    private static long statements(String header) {
+        assertThat(header).as(QueryStatsFilter.QUERY_COUNT_HEADER + " header").isNotNull();
+        return Long.parseLong(header);
+    }
+}
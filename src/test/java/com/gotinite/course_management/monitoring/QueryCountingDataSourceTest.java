@@ -0,0 +1,45 @@
+package com.gotinite.course_management.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCountingDataSourceTest {
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new QueryCountingDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:query-stats;DB_CLOSE_DELAY=-1")));
+
+    @Test
+    void statementsAndRowsShouldBeCounted() {
+        QueryStats stats = QueryCount.during(() -> {
+            jdbcTemplate.queryForList("SELECT X FROM SYSTEM_RANGE(1, 3)", Long.class);
+            jdbcTemplate.queryForObject("SELECT ? + 1", Long.class, 1L);
+        });
+
+        assertThat(stats.getStatements()).isEqualTo(2);
+        assertThat(stats.getRows()).isEqualTo(4);
+        assertThat(stats.getNanos()).isPositive();
+    }
+
+    @Test
+    void repeatedStatementsShouldBeReported() {
+        QueryStats stats = QueryCount.during(() -> {
+            for (long id = 0; id < 5; id++) {
+                jdbcTemplate.queryForObject("SELECT ? * 2", Long.class, id);
+            }
+            jdbcTemplate.execute("SELECT 1");
+        });
+
+        assertThat(stats.getStatements()).isEqualTo(6);
+        assertThat(stats.mostRepeated().getKey()).isEqualTo("SELECT ? * 2");
+        assertThat(stats.mostRepeated().getValue()).isEqualTo(5);
+    }
+
+    @Test
+    void statementsOutsideARequestShouldNotBeCounted() {
+        jdbcTemplate.queryForList("SELECT X FROM SYSTEM_RANGE(1, 3)", Long.class);
+        assertThat(QueryStats.current()).isNull();
+    }
+}
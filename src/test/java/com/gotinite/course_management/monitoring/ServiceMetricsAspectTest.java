@@ -0,0 +1,76 @@
+package com.gotinite.course_management.monitoring;
+
+import com.gotinite.course_management.cache.NaturalKeyCache;
+import com.gotinite.course_management.dtos.StudentDto;
+import com.gotinite.course_management.exceptions.ConflictException;
+import com.gotinite.course_management.exceptions.InvalidRequestException;
+import com.gotinite.course_management.mappers.StudentMapper;
+import com.gotinite.course_management.repositories.StudentRepository;
+import com.gotinite.course_management.repositories.TableStatisticsRepository;
+import com.gotinite.course_management.search.NameSearchIndex;
+import com.gotinite.course_management.services.StudentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+    private final NaturalKeyCache naturalKeyCache = mock(NaturalKeyCache.class);
+    private final StudentService underTest = proxy(new StudentService(mock(StudentMapper.class), studentRepository,
+            mock(TableStatisticsRepository.class), naturalKeyCache, mock(NameSearchIndex.class)));
+
+    @Test
+    void successfulCallsShouldBeTimed() {
+        when(naturalKeyCache.courseId("Math")).thenReturn(Optional.of(1L));
+        underTest.getStudentsByCourse("Math");
+
+        assertThat(meterRegistry.get("service.method")
+                .tags("service", "StudentService", "method", "getStudentsByCourse", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failuresShouldBeCountedByReason() {
+        when(naturalKeyCache.courseId("Math")).thenReturn(Optional.empty());
+        when(studentRepository.existsByEmail("ivan.ivanov@example.com")).thenReturn(true);
+
+        assertThatThrownBy(() -> underTest.getStudentsByCourse("Math"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> underTest.createStudent(new StudentDto("Ivan", "Ivanov", "ivan.ivanov@example.com")))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get("service.failures").tags("reason", "not_found").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("service.failures").tags("reason", "duplicate").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("service.method").tags("outcome", "failure").timers()).hasSize(2);
+    }
+
+    @Test
+    void failureReasonsShouldComeFromTheExceptionNotItsMessage() {
+        assertThat(FailureReason.of(new InvalidRequestException(FailureReason.INVALID_GRADE, "Incorrect value for grade!")))
+                .isEqualTo(FailureReason.INVALID_GRADE);
+        assertThat(FailureReason.of(new ConflictException(FailureReason.COURSE_FULL, "The course is full!")))
+                .isEqualTo(FailureReason.COURSE_FULL);
+        assertThat(FailureReason.of(new IllegalArgumentException("The page size must be positive!")))
+                .isEqualTo(FailureReason.INVALID_INPUT);
+        assertThat(FailureReason.of(new IllegalStateException("Student not found!")))
+                .isEqualTo(FailureReason.INVALID_INPUT);
+        assertThat(FailureReason.of(new RuntimeException("Course not found!")))
+                .isEqualTo(FailureReason.ERROR);
+    }
+
+    private StudentService proxy(StudentService target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,62 @@
+package com.gotinite.course_management.ranking;
+
+import com.gotinite.course_management.dtos.RankView;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradeRanksTest {
+
+    private final GradeRanks underTest = new GradeRanks();
+
+    @Test
+    void courseRanksShouldShareTiesAndCountEveryoneAtOrBelow() {
+        underTest.put(1L, 10L, 5.5);
+        underTest.put(2L, 10L, 4.0);
+        underTest.put(3L, 10L, 5.5);
+        underTest.put(4L, 10L, 6.0);
+
+        assertThat(underTest.courseRank(10L, 4L)).contains(new RankView(6.0, 1, 4, 100.0));
+        assertThat(underTest.courseRank(10L, 1L)).contains(new RankView(5.5, 2, 4, 75.0));
+        assertThat(underTest.courseRank(10L, 3L)).contains(new RankView(5.5, 2, 4, 75.0));
+        assertThat(underTest.courseRank(10L, 2L)).contains(new RankView(4.0, 4, 4, 25.0));
+        assertThat(underTest.courseRank(11L, 2L)).isEmpty();
+    }
+
+    @Test
+    void updatedGradesShouldMoveTheCourseAndSchoolRanks() {
+        underTest.put(1L, 10L, 3.0);
+        underTest.put(1L, 11L, 5.0);
+        underTest.put(2L, 10L, 4.5);
+
+        assertThat(underTest.schoolRank(1L)).contains(new RankView(4.0, 2, 2, 50.0));
+        underTest.put(1L, 10L, 6.0);
+        underTest.put(1L, 10L, 6.0);
+
+        assertThat(underTest.courseRank(10L, 1L)).contains(new RankView(6.0, 1, 2, 100.0));
+        assertThat(underTest.schoolRank(1L)).contains(new RankView(5.5, 1, 2, 100.0));
+        assertThat(underTest.schoolRank(2L)).contains(new RankView(4.5, 2, 2, 50.0));
+        assertThat(underTest.size()).isEqualTo(3);
+    }
+
+    @Test
+    void ranksShouldMatchSortingTheGrades() {
+        Random random = new Random(42);
+        double[] values = new double[2000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 2 + random.nextInt(401) / 100.0;
+            underTest.put((long) i, 1L, values[i]);
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for (int i = 0; i < values.length; i += 97) {
+            double value = values[i];
+            long above = Arrays.stream(sorted).filter(other -> other > value).count();
+            assertThat(underTest.courseRank(1L, (long) i).orElseThrow().rank()).isEqualTo(above + 1);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.dtos.CourseEnrollmentStatsView;
+import com.gotinite.course_management.models.EnrollmentStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@DataJpaTest
+@Sql({
+        "/sql/data.sql"
+})
+class CourseEnrollmentStatsRepositoryTest {
+
+    @Autowired
+    private CourseEnrollmentStatsRepository courseEnrollmentStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testFindViewByCourseId() {
+        CourseEnrollmentStatsView stats = courseEnrollmentStatsRepository.findViewByCourseId(2L).orElseThrow();
+        assertThat(stats.courseName()).isEqualTo("Physics");
+        assertThat(stats.unsuccessful()).isEqualTo(2L);
+        assertThat(stats.active()).isEqualTo(0L);
+    }
+
+    @Test
+    void testAddEnrollments() {
+        assertThat(courseEnrollmentStatsRepository.addEnrollments(1L, EnrollmentStatus.ACTIVE, 3)).isEqualTo(1);
+        entityManager.clear();
+        CourseEnrollmentStatsView stats = courseEnrollmentStatsRepository.findViewByCourseId(1L).orElseThrow();
+        assertThat(stats.active()).isEqualTo(3L);
+        assertThat(stats.successful()).isEqualTo(1L);
+        assertThat(stats.completed()).isEqualTo(0L);
+    }
+}
@@ -0,0 +1,65 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.dtos.CourseGradeStatsView;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@DataJpaTest
+@Sql({
+        "/sql/data.sql"
+})
+class CourseGradeStatsRepositoryTest {
+
+    @Autowired
+    private CourseGradeStatsRepository courseGradeStatsRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testFindAllViews() {
+        List<CourseGradeStatsView> stats = courseGradeStatsRepository.findAllViews();
+        assertThat(stats.size()).isEqualTo(3);
+        assertThat(stats.getFirst().courseName()).isEqualTo("Java Basics");
+        assertThat(stats.getFirst().average()).isNull();
+    }
+
+    @Test
+    void testAddGrades() {
+        assertThat(courseGradeStatsRepository.addGrades(1L, 2, 7.5, 28.25, 3.5, 4.0, 0, 1, 1, 0, 0)).isEqualTo(1);
+        CourseGradeStatsView stats = courseGradeStatsRepository.findViewByCourseId(1L).orElseThrow();
+        assertThat(stats.count()).isEqualTo(3L);
+        assertThat(stats.average()).isEqualTo(12.5 / 3);
+        assertThat(stats.min()).isEqualTo(3.5);
+        assertThat(stats.max()).isEqualTo(5.0);
+        assertThat(stats.distribution().get(3)).isEqualTo(1L);
+        assertThat(stats.distribution().get(4)).isEqualTo(1L);
+        assertThat(stats.distribution().get(5)).isEqualTo(1L);
+    }
+
+    @Test
+    void testReplaceGradeRefreshesExtremes() {
+        gradeRepository.updateValueById(4.0, 1L);
+        courseGradeStatsRepository.replaceGrade(1L, 5.0, 4.0, 5, 4);
+        courseGradeStatsRepository.refreshExtremes(1L, 5.0);
+        entityManager.clear();
+
+        CourseGradeStatsView stats = courseGradeStatsRepository.findViewByCourseId(1L).orElseThrow();
+        assertThat(stats.count()).isEqualTo(1L);
+        assertThat(stats.average()).isEqualTo(4.0);
+        assertThat(stats.min()).isEqualTo(4.0);
+        assertThat(stats.max()).isEqualTo(4.0);
+        assertThat(stats.distribution().get(4)).isEqualTo(1L);
+        assertThat(stats.distribution().get(5)).isEqualTo(0L);
+    }
+}
@@ -1,6 +1,8 @@
 package com.gotinite.course_management.repositories;
 
+import com.gotinite.course_management.dtos.CourseView;
 import com.gotinite.course_management.models.Course;
+import com.gotinite.course_management.models.CourseStatus;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,32 +35,40 @@ class CourseRepositoryTest {
 
     }
 
+    @Test
+    void testFindIdByName() {
+        assertThat(courseRepository.findIdByName("Physics").orElseThrow())
+                .isEqualTo(2L);
+        assertThat(courseRepository.findIdByName("Chemistry"))
+                .isEmpty();
+    }
+
     @Test
     void testFindByStatus() {
-        List<Course> result = courseRepository.findByStatus("ACTIVE");
-        assertThat(result.getFirst().getStatus())
+        List<CourseView> result = courseRepository.findByStatus(CourseStatus.ACTIVE);
+        assertThat(result.getFirst().status())
                 .isNotNull()
-                .isEqualTo("ACTIVE");
+                .isEqualTo(CourseStatus.ACTIVE);
     }
 
     @Test
     void testFindByTeacherId() {
-        List<Course> result = courseRepository.findByTeacherId(1L);
-        assertThat(result.getFirst().getName())
+        List<CourseView> result = courseRepository.findByTeacherId(1L);
+        assertThat(result.getFirst().name())
                 .isNotNull()
                 .isEqualTo("Math");
-        assertThat(result.getLast().getName())
+        assertThat(result.getLast().name())
                 .isNotNull()
                 .isEqualTo("Physics");
     }
 
     @Test
     void testFindByStudentId() {
-        List<Course> courses = courseRepository.findByStudentId(1L);
-        assertThat(courses.getFirst().getName())
+        List<CourseView> courses = courseRepository.findByStudentId(1L);
+        assertThat(courses.getFirst().name())
                 .isNotNull()
                 .isEqualTo("Math");
-        assertThat(courses.get(1).getName())
+        assertThat(courses.get(1).name())
                 .isNotNull()
                 .isEqualTo("Physics");
     }
@@ -82,12 +92,12 @@ class CourseRepositoryTest {
     @Test
     void testUpdateStatusById() {
         Course course = courseRepository.findAll().getFirst();
-        courseRepository.updateStatusById("INACTIVE", course.getId());
+        courseRepository.updateStatusById(CourseStatus.INACTIVE, course.getId());
         courseRepository.flush();
         entityManager.clear();
 
         Course updatedCourse = courseRepository.findById(course.getId()).orElse(null);
         assertThat(updatedCourse).isNotNull();
-        assertThat(updatedCourse.getStatus()).isEqualTo("INACTIVE");
+        assertThat(updatedCourse.getStatus()).isEqualTo(CourseStatus.INACTIVE);
     }
 }
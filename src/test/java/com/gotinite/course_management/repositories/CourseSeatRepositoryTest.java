@@ -0,0 +1,102 @@
+package com.gotinite.course_management.repositories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// every reservation commits in its own transaction, so the fixtures are inserted and removed here
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CourseSeatRepositoryTest {
+
+    private static final long COURSE_ID = 900L;
+    private static final long TEACHER_ID = 900L;
+    private static final int CAPACITY = 100;
+    private static final int REQUESTS = 5000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO teachers (id, first_name, last_name, email) VALUES (?, ?, ?, ?)",
+                TEACHER_ID, "Seat", "Keeper", "seat.keeper@example.com");
+        jdbcTemplate.update("INSERT INTO courses (id, name, status, teacher_id, capacity) VALUES (?, ?, ?, ?, ?)",
+                COURSE_ID, "Popular Course", 1, TEACHER_ID, CAPACITY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM courses WHERE id = ?", COURSE_ID);
+        jdbcTemplate.update("DELETE FROM teachers WHERE id = ?", TEACHER_ID);
+    }
+
+    @Test
+    void concurrentReservationsShouldNeverOverbook() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger reserved = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < REQUESTS; i++) {
+                // every tenth request is a bulk enrollment competing for the same seats
+                int seats = i % 10 == 0 ? 3 : 1;
+                futures.add(executor.submit(() -> reserved.addAndGet(transactionTemplate.execute(status ->
+                        seats == 1
+                                ? (courseRepository.reserveSeat(COURSE_ID) ? 1 : 0)
+                                : courseRepository.reserveSeats(COURSE_ID, seats)))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(reserved.get()).isEqualTo(CAPACITY);
+        assertThat(seatsTaken()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void bulkReservationShouldTakeOnlyTheFreeSeats() {
+        jdbcTemplate.update("UPDATE courses SET seats_taken = ? WHERE id = ?", CAPACITY - 2, COURSE_ID);
+
+        assertThat(courseRepository.reserveSeats(COURSE_ID, 5)).isEqualTo(2);
+        assertThat(courseRepository.reserveSeat(COURSE_ID)).isFalse();
+        assertThat(seatsTaken()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void capacityShouldNotDropBelowTheSeatsTaken() {
+        jdbcTemplate.update("UPDATE courses SET seats_taken = 10 WHERE id = ?", COURSE_ID);
+
+        assertThat(courseRepository.updateCapacityById(9, COURSE_ID)).isFalse();
+        assertThat(courseRepository.updateCapacityById(10, COURSE_ID)).isTrue();
+        assertThat(courseRepository.updateCapacityById(null, COURSE_ID)).isTrue();
+        assertThat(courseRepository.reserveSeat(COURSE_ID)).isTrue();
+    }
+
+    private int seatsTaken() {
+        return jdbcTemplate.queryForObject("SELECT seats_taken FROM courses WHERE id = ?", Integer.class, COURSE_ID);
+    }
+}
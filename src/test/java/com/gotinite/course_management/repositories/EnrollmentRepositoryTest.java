@@ -1,7 +1,9 @@
 package com.gotinite.course_management.repositories;
 
+import com.gotinite.course_management.dtos.EnrollmentExportRow;
+import com.gotinite.course_management.dtos.EnrollmentView;
 import com.gotinite.course_management.models.Course;
-import com.gotinite.course_management.models.Enrollment;
+import com.gotinite.course_management.models.EnrollmentStatus;
 import com.gotinite.course_management.models.Student;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -24,6 +27,9 @@ class EnrollmentRepositoryTest {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private TeacherRepository teacherRepository;
+
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
@@ -38,27 +44,68 @@ class EnrollmentRepositoryTest {
                 .isEqualTo(false);
     }
 
+    @Test
+    void testExistsByCourseIdAndStudentId() {
+        assertThat(enrollmentRepository.existsByCourseIdAndStudentId(2L, 2L))
+                .isEqualTo(true);
+        assertThat(enrollmentRepository.existsByCourseIdAndStudentId(1L, 2L))
+                .isEqualTo(false);
+    }
+
     @Test
     void testFindByStatus() {
-        List<Enrollment> enrollments = enrollmentRepository.findByStatus(1L,"Successful");
-        assertThat(enrollments.getFirst().getId())
+        List<EnrollmentView> enrollments = enrollmentRepository.findByStatus(1L, EnrollmentStatus.SUCCESSFUL);
+        assertThat(enrollments.getFirst().id())
                 .isEqualTo(1L);
+        assertThat(enrollments.getFirst().courseName())
+                .isEqualTo("Math");
     }
 
     @Test
     void testFindByCourseId() {
-        List<Enrollment> enrollments = enrollmentRepository.findEnrollmentsByCourseId(2L);
-        assertThat(enrollments.getFirst().getStatus())
+        List<EnrollmentView> enrollments = enrollmentRepository.findEnrollmentsByCourseId(2L);
+        assertThat(enrollments.getFirst().status())
                 .isNotNull()
-                .isEqualTo("Unsuccessful");
+                .isEqualTo(EnrollmentStatus.UNSUCCESSFUL);
+    }
+
+    @Test
+    void testFindEnrolledStudentIds() {
+        List<Long> ids = enrollmentRepository.findEnrolledStudentIds(1L, List.of(1L, 2L));
+        assertThat(ids.size()).isEqualTo(1);
+        assertThat(ids.getFirst()).isEqualTo(1L);
+    }
+
+    @Test
+    void testBatchInsert() {
+        enrollmentRepository.batchInsert(1L, List.of(2L), EnrollmentStatus.ACTIVE);
+        assertThat(enrollmentRepository.findEnrolledStudentIds(1L, List.of(1L, 2L)).size())
+                .isEqualTo(2);
+        assertThat(studentRepository.findByCourseId(1L).size())
+                .isEqualTo(2);
     }
 
     @Test
     void testFindByStudentId() {
-        List<Enrollment> enrollments = enrollmentRepository.findEnrollmentsByStudentId(1L);
-        assertThat(enrollments.getFirst().getStatus())
-                .isEqualTo("Successful");
-        assertThat(enrollments.getLast().getStatus())
-                .isEqualTo("Unsuccessful");
+        List<EnrollmentView> enrollments = enrollmentRepository.findEnrollmentsByStudentId(1L);
+        assertThat(enrollments.getFirst().status())
+                .isEqualTo(EnrollmentStatus.SUCCESSFUL);
+        assertThat(enrollments.getLast().status())
+                .isEqualTo(EnrollmentStatus.UNSUCCESSFUL);
+    }
+
+    @Test
+    void testStreamForExport() {
+        Long teacherId = teacherRepository.findAll().get(1).getId();
+        try (Stream<EnrollmentExportRow> rows = enrollmentRepository.streamForExport(null, teacherId, null, null)) {
+            assertThat(rows.count()).isEqualTo(0L);
+        }
+        Long courseId = courseRepository.findAll().get(1).getId();
+        try (Stream<EnrollmentExportRow> rows = enrollmentRepository.streamForExport(courseId, null, null, null)) {
+            List<EnrollmentExportRow> enrollments = rows.toList();
+            assertThat(enrollments.size()).isEqualTo(2);
+            assertThat(enrollments.getFirst().teacherEmail()).isEqualTo("angel.angelov@example.com");
+            assertThat(enrollments.getFirst().enrolledAt()).isNotNull();
+        }
     }
 }
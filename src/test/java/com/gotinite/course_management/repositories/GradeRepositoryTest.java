@@ -1,5 +1,10 @@
 package com.gotinite.course_management.repositories;
 
+import com.gotinite.course_management.dtos.GradeEntryCheck;
+import com.gotinite.course_management.dtos.GradeExportRow;
+import com.gotinite.course_management.dtos.GradeRankRow;
+import com.gotinite.course_management.dtos.TranscriptTermRow;
+import com.gotinite.course_management.dtos.TranscriptView;
 import com.gotinite.course_management.models.Course;
 import com.gotinite.course_management.models.Grade;
 import com.gotinite.course_management.models.Student;
@@ -7,8 +12,13 @@ import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @DataJpaTest
@@ -47,7 +57,7 @@ class GradeRepositoryTest {
     @Test
     void testFindByStudentId() {
         Long id = studentRepository.findAll().getFirst().getId();
-        assertThat(gradeRepository.findByStudentId(id).getFirst().getValue())
+        assertThat(gradeRepository.findByStudentId(id).getFirst().value())
                 .isNotNull()
                 .isEqualTo(5);
     }
@@ -55,7 +65,7 @@ class GradeRepositoryTest {
     @Test
     void testFindByCourseId() {
         Long id = courseRepository.findAll().getFirst().getId();
-        assertThat(gradeRepository.findByCourseId(id).getFirst().getValue())
+        assertThat(gradeRepository.findByCourseId(id).getFirst().value())
                 .isNotNull()
                 .isEqualTo(5);
     }
@@ -63,7 +73,7 @@ class GradeRepositoryTest {
     @Test
     void testFindByTeacherId() {
         Long id = teacherRepository.findAll().getFirst().getId();
-        assertThat(gradeRepository.findByTeacherId(id).getFirst().getValue())
+        assertThat(gradeRepository.findByTeacherId(id).getFirst().value())
                 .isNotNull()
                 .isEqualTo(5);
     }
@@ -75,8 +85,11 @@ class GradeRepositoryTest {
         assertThat(gradeRepository.findByStudentIdAndCourseId(studentId, courseId))
                 .isNotNull();
         assertThat(gradeRepository.findByStudentIdAndCourseId(studentId,
-                courseId).orElseThrow().getValue())
+                courseId).orElseThrow().value())
                 .isEqualTo(5);
+        assertThat(gradeRepository.findByStudentIdAndCourseId(studentId,
+                courseId).orElseThrow().teacherEmail())
+                .isEqualTo("angel.angelov@example.com");
     }
 
     @Test
@@ -91,4 +104,66 @@ class GradeRepositoryTest {
         assertThat(grade.getValue())
                 .isEqualTo(value);
     }
+
+    @Test
+    void testStreamForExport() {
+        try (Stream<GradeExportRow> rows = gradeRepository.streamForExport(null, null, null, null)) {
+            List<GradeExportRow> grades = rows.toList();
+            assertThat(grades.size()).isEqualTo(1);
+            assertThat(grades.getFirst().courseName()).isEqualTo("Math");
+            assertThat(grades.getFirst().gradedAt()).isNotNull();
+        }
+        Long otherCourseId = courseRepository.findAll().get(1).getId();
+        try (Stream<GradeExportRow> rows = gradeRepository.streamForExport(otherCourseId, null, null, null)) {
+            assertThat(rows.count()).isEqualTo(0L);
+        }
+        try (Stream<GradeExportRow> rows = gradeRepository.streamForExport(null, null, Instant.now().plusSeconds(3600), null)) {
+            assertThat(rows.count()).isEqualTo(0L);
+        }
+    }
+
+    @Test
+    void testCheckGradeEntry() {
+        GradeEntryCheck graded = gradeRepository.checkGradeEntry(1L, 1L, 1L).orElseThrow();
+        assertThat(graded.taughtByTeacher()).isEqualTo(true);
+        assertThat(graded.enrolled()).isEqualTo(true);
+        assertThat(graded.graded()).isEqualTo(true);
+        GradeEntryCheck notEnrolled = gradeRepository.checkGradeEntry(3L, 1L, 1L).orElseThrow();
+        assertThat(notEnrolled.taughtByTeacher()).isEqualTo(false);
+        assertThat(notEnrolled.enrolled()).isEqualTo(false);
+        assertThat(notEnrolled.graded()).isEqualTo(false);
+        assertThat(gradeRepository.checkGradeEntry(99L, 1L, 1L)).isEmpty();
+    }
+
+    @Test
+    void testFindGradedStudentIds() {
+        assertThat(gradeRepository.findGradedStudentIds(1L, List.of(1L, 2L))).isEqualTo(List.of(1L));
+        assertThat(gradeRepository.findGradedStudentIds(2L, List.of(1L, 2L))).isEqualTo(List.of());
+    }
+
+    @Test
+    void testFindTranscriptTerms() {
+        entityManager.createNativeQuery("UPDATE courses SET credits = 3 WHERE id = 2").executeUpdate();
+        entityManager.createNativeQuery("UPDATE grades SET graded_at = TIMESTAMP WITH TIME ZONE '2026-03-16 10:00:00+00' WHERE id = 1")
+                .executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO grades(id, grade_value, student_id, course_id, teacher_id, graded_at) " +
+                "VALUES (2, 3, 1, 2, 1, TIMESTAMP WITH TIME ZONE '2025-09-15 10:00:00+00')").executeUpdate();
+
+        List<TranscriptTermRow> rows = gradeRepository.findTranscriptTerms(List.of(1L, 2L));
+        assertThat(rows.size()).isEqualTo(2);
+        assertThat(rows.getFirst()).isEqualTo(new TranscriptTermRow(1L, 2025, 2, 1L, 3.0, 3L, 9.0));
+        assertThat(rows.getLast()).isEqualTo(new TranscriptTermRow(1L, 2026, 1, 1L, 5.0, 1L, 5.0));
+
+        TranscriptView transcript = TranscriptView.of(rows);
+        assertThat(transcript.gpa()).isEqualTo(4.0);
+        assertThat(transcript.weightedAverage()).isEqualTo(3.5);
+        assertThat(transcript.credits()).isEqualTo(4L);
+    }
+
+    @Test
+    void testFindRankRowsAfterId() {
+        assertThat(gradeRepository.findRankRowsAfterId(0L, Limit.of(10)))
+                .isEqualTo(List.of(new GradeRankRow(1L, 1L, 1L, 5.0)));
+        assertThat(gradeRepository.findRankRowsAfterId(1L, Limit.of(10))).isEqualTo(List.of());
+    }
 }
@@ -0,0 +1,44 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.dtos.IdempotentResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(IdempotencyKeyRepository.class)
+class IdempotencyKeyRepositoryTest {
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Test
+    void testSaveAndFindByKey() {
+        Instant before = Instant.now().minusSeconds(60);
+        idempotencyKeyRepository.save("/create/student retry-1", new IdempotentResponse("abc", 201,
+                "application/json", "{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+        idempotencyKeyRepository.save("/create/student retry-1", new IdempotentResponse("def", 400,
+                "text/plain", new byte[0]));
+
+        IdempotentResponse stored = idempotencyKeyRepository.findByKey("/create/student retry-1", before).orElseThrow();
+        assertThat(stored.fingerprint()).isEqualTo("abc");
+        assertThat(stored.status()).isEqualTo(201);
+        assertThat(new String(stored.body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+        assertThat(idempotencyKeyRepository.findByKey("/create/student retry-2", before)).isEmpty();
+    }
+
+    @Test
+    void testExpiredKeys() {
+        idempotencyKeyRepository.save("/add/grade retry-1", new IdempotentResponse("abc", 201, null, new byte[0]));
+        Instant later = Instant.now().plusSeconds(60);
+
+        assertThat(idempotencyKeyRepository.findByKey("/add/grade retry-1", later)).isEmpty();
+        assertThat(idempotencyKeyRepository.deleteCreatedBefore(later)).isEqualTo(1);
+    }
+}
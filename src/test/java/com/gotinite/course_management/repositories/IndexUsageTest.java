@@ -0,0 +1,226 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.models.CourseStatus;
+import com.gotinite.course_management.models.EnrollmentStatus;
+import com.gotinite.course_management.monitoring.QueryCount;
+import com.gotinite.course_management.monitoring.QueryCountingDataSourcePostProcessor;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls each filtering repository query, captures the SQL it sends through the query-counting data
+ * source and runs EXPLAIN on that SQL. H2 prints a table scan as {@code tableScan} and a full index
+ * scan as an index comment without a condition.
+ */
+@DataJpaTest
+@Import({QueryCountingDataSourcePostProcessor.class, IdempotencyKeyRepository.class})
+@Sql({
+        "/sql/data.sql"
+})
+class IndexUsageTest {
+
+    private static final Pattern FULL_SCAN = Pattern.compile("tableScan|/\\* [\\w.]+ \\*/");
+    private static final Pattern TABLE_SCAN = Pattern.compile("tableScan");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private CourseGradeStatsRepository courseGradeStatsRepository;
+
+    @Autowired
+    private CourseEnrollmentStatsRepository courseEnrollmentStatsRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        Object run(IndexUsageTest test);
+    }
+
+    /** {@code parameters} are bound when explaining the captured SQL; parameters beyond them are bound to null. */
+    record QueryCall(RepositoryCall call, Object... parameters) {
+    }
+
+    static Stream<Named<QueryCall>> filteringQueries() {
+        return Stream.of(
+                // StudentRepository
+                call("StudentRepository.existsByEmail", t -> t.studentRepository.existsByEmail("ivan.ivanov@example.com")),
+                call("StudentRepository.findByEmail", t -> t.studentRepository.findByEmail("ivan.ivanov@example.com")),
+                call("StudentRepository.findIdByEmail", t -> t.studentRepository.findIdByEmail("ivan.ivanov@example.com")),
+                call("StudentRepository.findViewsAfterId", t -> t.studentRepository.findViewsAfterId(1L, Limit.of(10))),
+                call("StudentRepository.findViewsByIdIn", t -> t.studentRepository.findViewsByIdIn(List.of(1L, 2L))),
+                call("StudentRepository.findViewsAfterLastName",
+                        t -> t.studentRepository.findViewsAfterLastName("Ivanov", 1L, Limit.of(10))),
+                call("StudentRepository.findByFirstName", t -> t.studentRepository.findByFirstName("Ivan")),
+                call("StudentRepository.findByLastName", t -> t.studentRepository.findByLastName("Ivanov")),
+                call("StudentRepository.findKeysByEmailIn",
+                        t -> t.studentRepository.findKeysByEmailIn(List.of("ivan.ivanov@example.com"))),
+                call("StudentRepository.findByCourseId", t -> t.studentRepository.findByCourseId(2L)),
+                call("StudentRepository.findKeysByCourseId", t -> t.studentRepository.findKeysByCourseId(2L)),
+                call("StudentRepository.findByFullName", t -> t.studentRepository.findByFullName("ivan ivanov")),
+                call("StudentRepository.findBySearchNamePrefix",
+                        t -> t.studentRepository.findBySearchNamePrefix("iva%", Limit.of(10)), "iva%"),
+                // TeacherRepository
+                call("TeacherRepository.existsByEmail", t -> t.teacherRepository.existsByEmail("angel.angelov@example.com")),
+                call("TeacherRepository.findByEmail", t -> t.teacherRepository.findByEmail("angel.angelov@example.com")),
+                call("TeacherRepository.findIdByEmail", t -> t.teacherRepository.findIdByEmail("angel.angelov@example.com")),
+                call("TeacherRepository.findViewsAfterId", t -> t.teacherRepository.findViewsAfterId(1L, Limit.of(10))),
+                call("TeacherRepository.findViewsByIdIn", t -> t.teacherRepository.findViewsByIdIn(List.of(1L, 2L))),
+                call("TeacherRepository.findViewsAfterLastName",
+                        t -> t.teacherRepository.findViewsAfterLastName("Aleksandrov", 2L, Limit.of(10))),
+                call("TeacherRepository.findByFirstName", t -> t.teacherRepository.findByFirstName("Angel")),
+                call("TeacherRepository.findByLastName", t -> t.teacherRepository.findByLastName("Angelov")),
+                call("TeacherRepository.findByFullName", t -> t.teacherRepository.findByFullName("angel angelov")),
+                call("TeacherRepository.findBySearchNamePrefix",
+                        t -> t.teacherRepository.findBySearchNamePrefix("ang%", Limit.of(10)), "ang%"),
+                call("TeacherRepository.findByCourseId", t -> t.teacherRepository.findByCourseId(1L)),
+                // CourseRepository
+                call("CourseRepository.existsByIdAndTeacherId", t -> t.courseRepository.existsByIdAndTeacherId(1L, 1L)),
+                call("CourseRepository.existsByName", t -> t.courseRepository.existsByName("Math")),
+                call("CourseRepository.findByName", t -> t.courseRepository.findByName("Math")),
+                call("CourseRepository.findIdByName", t -> t.courseRepository.findIdByName("Math")),
+                call("CourseRepository.findViewsAfterId", t -> t.courseRepository.findViewsAfterId(1L, Limit.of(10))),
+                call("CourseRepository.findByStatus", t -> t.courseRepository.findByStatus(CourseStatus.ACTIVE)),
+                call("CourseRepository.findByTeacherId", t -> t.courseRepository.findByTeacherId(1L)),
+                call("CourseRepository.findByStudentId", t -> t.courseRepository.findByStudentId(1L)),
+                // EnrollmentRepository
+                call("EnrollmentRepository.existsByStudentAndCourse", t -> t.enrollmentRepository.existsByStudentAndCourse(
+                        t.studentRepository.getReferenceById(1L), t.courseRepository.getReferenceById(1L))),
+                call("EnrollmentRepository.existsByCourseIdAndStudentId",
+                        t -> t.enrollmentRepository.existsByCourseIdAndStudentId(1L, 1L)),
+                call("EnrollmentRepository.findByStatus",
+                        t -> t.enrollmentRepository.findByStatus(1L, EnrollmentStatus.SUCCESSFUL)),
+                call("EnrollmentRepository.findEnrollmentsByCourseId", t -> t.enrollmentRepository.findEnrollmentsByCourseId(2L)),
+                call("EnrollmentRepository.findEnrollmentsByStudentId", t -> t.enrollmentRepository.findEnrollmentsByStudentId(1L)),
+                call("EnrollmentRepository.findEnrolledStudentIds",
+                        t -> t.enrollmentRepository.findEnrolledStudentIds(2L, List.of(1L, 2L))),
+                // GradeRepository
+                call("GradeRepository.existsByStudentAndCourse", t -> t.gradeRepository.existsByStudentAndCourse(
+                        t.studentRepository.getReferenceById(1L), t.courseRepository.getReferenceById(1L))),
+                call("GradeRepository.checkGradeEntry", t -> t.gradeRepository.checkGradeEntry(1L, 1L, 1L)),
+                call("GradeRepository.findGradedStudentIds", t -> t.gradeRepository.findGradedStudentIds(1L, List.of(1L, 2L))),
+                call("GradeRepository.findForUpdateById", t -> t.gradeRepository.findForUpdateById(1L)),
+                call("GradeRepository.findByStudentId", t -> t.gradeRepository.findByStudentId(1L)),
+                call("GradeRepository.findByCourseId", t -> t.gradeRepository.findByCourseId(1L)),
+                call("GradeRepository.findByTeacherId", t -> t.gradeRepository.findByTeacherId(1L)),
+                call("GradeRepository.findByStudentIdAndCourseId", t -> t.gradeRepository.findByStudentIdAndCourseId(1L, 1L)),
+                call("GradeRepository.findRankRowsAfterId", t -> t.gradeRepository.findRankRowsAfterId(0L, Limit.of(10))),
+                call("GradeRepository.findTranscriptTerms", t -> t.gradeRepository.findTranscriptTerms(List.of(1L, 2L))),
+                // stats and idempotency
+                call("CourseGradeStatsRepository.findViewByCourseId",
+                        t -> t.courseGradeStatsRepository.findViewByCourseId(1L)),
+                call("CourseEnrollmentStatsRepository.findViewByCourseId",
+                        t -> t.courseEnrollmentStatsRepository.findViewByCourseId(1L)),
+                call("IdempotencyKeyRepository.findByKey",
+                        t -> t.idempotencyKeyRepository.findByKey("key", Instant.EPOCH))
+        );
+    }
+
+    // the filters are optional, so an export reads the table in id order and filters as it streams
+    static Stream<Named<QueryCall>> exportQueries() {
+        return Stream.of(
+                call("EnrollmentRepository.streamForExport",
+                        t -> t.enrollmentRepository.streamForExport(2L, 1L, Instant.EPOCH, Instant.now())),
+                call("GradeRepository.streamForExport",
+                        t -> t.gradeRepository.streamForExport(1L, 1L, Instant.EPOCH, Instant.now()))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("filteringQueries")
+    void queryShouldNotScanTables(QueryCall call) {
+        for (String sql : sqlOf(call.call())) {
+            String plan = explain(sql, call.parameters());
+            assertThat(FULL_SCAN.matcher(plan).find()).as("%s%n%s", sql, plan).isFalse();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("exportQueries")
+    void exportShouldReadInIndexOrder(QueryCall call) {
+        for (String sql : sqlOf(call.call())) {
+            String plan = explain(sql, call.parameters());
+            assertThat(TABLE_SCAN.matcher(plan).find()).as("%s%n%s", sql, plan).isFalse();
+        }
+    }
+
+    @Test
+    void explainShouldTellFullScansFromIndexLookups() {
+        assertThat(FULL_SCAN.matcher(explain(
+                "SELECT s.id FROM students s WHERE UPPER(s.email) = 'IVAN.IVANOV@EXAMPLE.COM'")).find())
+                .isTrue();
+        assertThat(FULL_SCAN.matcher(explain(
+                "SELECT s.id, s.email FROM students s WHERE s.email = 'ivan.ivanov@example.com'")).find())
+                .isFalse();
+    }
+
+    private static Named<QueryCall> call(String name, RepositoryCall call, Object... parameters) {
+        return Named.of(name, new QueryCall(call, parameters));
+    }
+
+    private Set<String> sqlOf(RepositoryCall call) {
+        Set<String> sql = QueryCount.during(() -> {
+            if (call.run(this) instanceof Stream<?> rows) {
+                try (rows) {
+                    rows.forEach(row -> {
+                    });
+                }
+            }
+        }).getSql();
+        assertThat(sql).as("statements captured").isNotEmpty();
+        return sql;
+    }
+
+    // H2 plans LIKE against the bound pattern; the other conditions plan the same with null bound
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatementCallback<String>) statement -> {
+            int count = statement.getParameterMetaData().getParameterCount();
+            for (int index = 1; index <= count; index++) {
+                statement.setObject(index, index <= parameters.length ? parameters[index - 1] : null);
+            }
+            StringJoiner plan = new StringJoiner("\n");
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.add(rows.getString(1));
+                }
+            }
+            return plan.toString();
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.dtos.ImportReport;
+import com.gotinite.course_management.search.NameSearchIndex;
+import com.gotinite.course_management.services.ImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@DataJpaTest
+@Import({PersonImportRepository.class, ImportService.class, NameSearchIndex.class})
+@Sql({
+        "/sql/data.sql"
+})
+class PersonImportRepositoryTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Test
+    void testImportStudents() throws Exception {
+        String csv = """
+                firstName,lastName,email
+                Maria,Marinova,maria.marinova@example.com
+                "Georgi, Jr.",Georgiev,georgi.georgiev@example.com
+                Ivan,Ivanov,ivan.ivanov@example.com
+                Maria,Marinova,maria.marinova@example.com
+                Nikola,,nikola@example.com
+                Dimitar,Dimitrov,not-an-email
+                """;
+        ImportReport report = importService.importStudents(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.imported()).isEqualTo(2L);
+        assertThat(report.rejected()).isEqualTo(4L);
+        assertThat(report.errors().get(0).error()).isEqualTo("A student with this email already exists!");
+        assertThat(report.errors().get(0).line()).isEqualTo(4L);
+        assertThat(report.errors().get(1).error()).isEqualTo("Duplicate email in file!");
+        assertThat(report.errors().get(2).error()).isEqualTo("Missing value!");
+        assertThat(report.errors().get(3).error()).isEqualTo("Invalid email!");
+        assertThat(studentRepository.count()).isEqualTo(4L);
+        assertThat(studentRepository.findByEmail("georgi.georgiev@example.com").orElseThrow().getFirstName())
+                .isEqualTo("Georgi, Jr.");
+        // both come from the one pooled-lo block reserved for the staged rows
+        assertThat(studentRepository.findByEmail("georgi.georgiev@example.com").orElseThrow().getId())
+                .isEqualTo(studentRepository.findByEmail("maria.marinova@example.com").orElseThrow().getId() + 1);
+    }
+
+    @Test
+    void testImportTeachers() throws Exception {
+        String csv = "firstName,lastName,email\nMaria,Marinova,maria.marinova@example.com\n";
+        ImportReport report = importService.importTeachers(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.imported()).isEqualTo(1L);
+        assertThat(report.rejected()).isEqualTo(0L);
+        assertThat(teacherRepository.count()).isEqualTo(3L);
+    }
+}
@@ -0,0 +1,87 @@
+package com.gotinite.course_management.repositories;
+
+import com.gotinite.course_management.models.Course;
+import com.gotinite.course_management.models.Teacher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Sql({
+        "/sql/data.sql"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void entityLoadsShouldBeServedFromCache() {
+        Course course = courseRepository.findByName("Math").orElseThrow();
+        assertThat(entityManagerFactory.getCache().contains(Course.class, course.getId())).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Teacher.class, course.getTeacher().getId())).isTrue();
+        statistics.clear();
+
+        // read-write entries only become readable to sessions that start after they were cached
+        EntityManager later = entityManagerFactory.createEntityManager();
+        try {
+            assertThat(later.find(Course.class, course.getId()).getName()).isEqualTo("Math");
+        } finally {
+            later.close();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("courses").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bulkUpdatesShouldEvictCachedCourses() {
+        Long id = courseRepository.findByName("Math").orElseThrow().getId();
+        assertThat(entityManagerFactory.getCache().contains(Course.class, id)).isTrue();
+
+        courseRepository.updateNameById("Algebra", id);
+        entityManager.clear();
+
+        assertThat(entityManagerFactory.getCache().contains(Course.class, id)).isFalse();
+        assertThat(courseRepository.findByName("Math")).isEmpty();
+        assertThat(courseRepository.findByName("Algebra").orElseThrow().getId()).isEqualTo(id);
+    }
+
+    @Test
+    void bulkUpdatesShouldEvictCachedTeachers() {
+        Long id = teacherRepository.findByEmail("angel.angelov@example.com").orElseThrow().getId();
+        assertThat(entityManagerFactory.getCache().contains(Teacher.class, id)).isTrue();
+
+        teacherRepository.updateEmailById("angel@example.com", id);
+        entityManager.clear();
+
+        assertThat(entityManagerFactory.getCache().contains(Teacher.class, id)).isFalse();
+        assertThat(teacherRepository.findByEmail("angel.angelov@example.com")).isEmpty();
+        assertThat(teacherRepository.findByEmail("angel@example.com").orElseThrow().getId()).isEqualTo(id);
+    }
+}
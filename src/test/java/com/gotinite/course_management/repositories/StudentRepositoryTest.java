@@ -1,10 +1,13 @@
 package com.gotinite.course_management.repositories;
 
-import com.gotinite.course_management.models.Student;
+import com.gotinite.course_management.dtos.StudentView;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
@@ -38,34 +41,87 @@ class StudentRepositoryTest {
                 .isEqualTo(studentRepository.findAll().get(1));
     }
 
+    @Test
+    void testFindIdByEmail() {
+        assertThat(studentRepository.findIdByEmail("petar.petrov@example.com").orElseThrow())
+                .isEqualTo(2L);
+        assertThat(studentRepository.findIdByEmail("missing@example.com").isPresent())
+                .isEqualTo(false);
+    }
+
     @Test
     void testFindByFirstName() {
-        assertThat(studentRepository.findByFirstName("Ivan").getFirst())
+        assertThat(studentRepository.findByFirstName("Ivan").getFirst().email())
                 .isNotNull()
-                .isEqualTo(studentRepository.findAll().getFirst());
+                .isEqualTo(studentRepository.findAll().getFirst().getEmail());
     }
 
     @Test
     void testFindByLastName() {
-        assertThat(studentRepository.findByLastName("Ivanov").getFirst())
+        assertThat(studentRepository.findByLastName("Ivanov").getFirst().email())
                 .isNotNull()
-                .isEqualTo(studentRepository.findAll().getFirst());
+                .isEqualTo(studentRepository.findAll().getFirst().getEmail());
     }
 
     @Test
     void testFindByFullName() {
-        assertThat(studentRepository.findByFullName("Petar Petrov").getFirst())
+        assertThat(studentRepository.findByFullName("petar petrov").getFirst().email())
                 .isNotNull()
-                .isEqualTo(studentRepository.findAll().get(1));
+                .isEqualTo(studentRepository.findAll().get(1).getEmail());
+    }
+
+    @Test
+    void testFindBySearchNamePrefix() {
+        assertThat(studentRepository.findBySearchNamePrefix("ivan i%", Limit.of(10)).getFirst().email())
+                .isEqualTo("ivan.ivanov@example.com");
+        assertThat(studentRepository.findBySearchNamePrefix("%", Limit.of(10)).size())
+                .isEqualTo(2);
+        assertThat(studentRepository.findBySearchNamePrefix("\\%%", Limit.of(10)).size())
+                .isEqualTo(0);
+    }
+
+    @Test
+    void testFindKeysByEmailIn() {
+        List<StudentRepository.EmailKey> keys = studentRepository.findKeysByEmailIn(
+                List.of("petar.petrov@example.com", "missing@example.com"));
+        assertThat(keys.size()).isEqualTo(1);
+        assertThat(keys.getFirst().getEmail()).isEqualTo("petar.petrov@example.com");
+        assertThat(keys.getFirst().getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void testFindAllViews() {
+        Page<StudentView> page = studentRepository.findAllViews(PageRequest.of(0, 1));
+        assertThat(page.getTotalElements())
+                .isEqualTo(studentRepository.count());
+        assertThat(page.getContent().getFirst().email())
+                .isEqualTo("ivan.ivanov@example.com");
+    }
+
+    @Test
+    void testFindViewsAfterId() {
+        List<StudentView> firstPage = studentRepository.findViewsAfterId(0L, Limit.of(1));
+        assertThat(firstPage.size()).isEqualTo(1);
+        assertThat(firstPage.getFirst().id()).isEqualTo(1L);
+        List<StudentView> secondPage = studentRepository.findViewsAfterId(firstPage.getLast().id(), Limit.of(1));
+        assertThat(secondPage.getFirst().id()).isEqualTo(2L);
+        assertThat(studentRepository.findViewsAfterId(2L, Limit.of(1)).isEmpty()).isEqualTo(true);
+    }
+
+    @Test
+    void testFindViewsAfterLastName() {
+        List<StudentView> students = studentRepository.findViewsAfterLastName("Ivanov", 1L, Limit.of(10));
+        assertThat(students.size()).isEqualTo(1);
+        assertThat(students.getFirst().lastName()).isEqualTo("Petrov");
     }
 
     @Test
     void testFindByCourseId() {
-        List<Student> students = studentRepository.findByCourseId(2L);
-        assertThat(students.getFirst().getId())
+        List<StudentView> students = studentRepository.findByCourseId(2L);
+        assertThat(students.getFirst().id())
                 .isNotNull()
                 .isEqualTo(1);
-        assertThat(students.getLast().getId())
+        assertThat(students.getLast().id())
                 .isNotNull()
                 .isEqualTo(2);
     }
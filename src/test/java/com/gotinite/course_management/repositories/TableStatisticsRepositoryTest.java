@@ -0,0 +1,28 @@
+package com.gotinite.course_management.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@DataJpaTest
+@Import(TableStatisticsRepository.class)
+@Sql({
+        "/sql/data.sql"
+})
+class TableStatisticsRepositoryTest {
+
+    @Autowired
+    private TableStatisticsRepository tableStatisticsRepository;
+
+    @Test
+    void testApproximateRowCount() {
+        assertThat(tableStatisticsRepository.approximateRowCount("students"))
+                .isEqualTo(2L);
+        assertThat(tableStatisticsRepository.approximateRowCount("courses"))
+                .isEqualTo(3L);
+    }
+}
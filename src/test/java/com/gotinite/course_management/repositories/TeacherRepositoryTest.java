@@ -1,12 +1,15 @@
 package com.gotinite.course_management.repositories;
 
-import com.gotinite.course_management.models.Teacher;
+import com.gotinite.course_management.dtos.TeacherView;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.util.List;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 @DataJpaTest
@@ -36,35 +39,50 @@ class TeacherRepositoryTest {
                 .isEqualTo(teacherRepository.findAll().get(1));
     }
 
+    @Test
+    void testFindIdByEmail() {
+        assertThat(teacherRepository.findIdByEmail("alex.aleksandrov@example.com").orElseThrow())
+                .isEqualTo(2L);
+        assertThat(teacherRepository.findIdByEmail("missing@example.com").isPresent())
+                .isEqualTo(false);
+    }
+
     @Test
     void testFindByFirstName() {
-        assertThat(teacherRepository.findByFirstName("Angel").getFirst())
+        assertThat(teacherRepository.findByFirstName("Angel").getFirst().email())
                 .isNotNull()
-                .isEqualTo(teacherRepository.findAll().getFirst());
+                .isEqualTo(teacherRepository.findAll().getFirst().getEmail());
     }
 
     @Test
     void testFindByLastName() {
-        assertThat(teacherRepository.findByLastName("Angelov").getFirst())
+        assertThat(teacherRepository.findByLastName("Angelov").getFirst().email())
                 .isNotNull()
-                .isEqualTo(teacherRepository.findAll().getFirst());
+                .isEqualTo(teacherRepository.findAll().getFirst().getEmail());
     }
 
     @Test
     void testFindByFullName() {
-        assertThat(teacherRepository.findByFullName("Alex Aleksandrov").getFirst())
+        assertThat(teacherRepository.findByFullName("alex aleksandrov").getFirst().email())
                 .isNotNull()
-                .isEqualTo(teacherRepository.findAll().get(1));
+                .isEqualTo(teacherRepository.findAll().get(1).getEmail());
+    }
+
+    @Test
+    void testFindBySearchNamePrefix() {
+        List<TeacherView> teachers = teacherRepository.findBySearchNamePrefix("a%", Limit.of(1));
+        assertThat(teachers.size()).isEqualTo(1);
+        assertThat(teachers.getFirst().email()).isEqualTo("alex.aleksandrov@example.com");
     }
 
     @Test
     void testFindByCourseId() {
-        Teacher firstTeacher = teacherRepository.findByCourseId(1L).orElseThrow();
-        Teacher secondTeacher = teacherRepository.findByCourseId(3L).orElseThrow();
-        assertThat(firstTeacher.getFirstName())
+        TeacherView firstTeacher = teacherRepository.findByCourseId(1L).orElseThrow();
+        TeacherView secondTeacher = teacherRepository.findByCourseId(3L).orElseThrow();
+        assertThat(firstTeacher.firstName())
                 .isNotNull()
                 .isEqualTo("Angel");
-        assertThat(secondTeacher.getFirstName())
+        assertThat(secondTeacher.firstName())
                 .isNotNull()
                 .isEqualTo("Alex");
     }
@@ -0,0 +1,77 @@
+package com.gotinite.course_management.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex<String> underTest = new TrigramIndex<>(0.4);
+
+    @Test
+    void partialAndMisspelledNamesShouldMatch() {
+        underTest.put(1L, "Ivan", "Ivan Ivanov", "ivan.ivanov");
+        underTest.put(2L, "Petar", "Petar Petrov", "petar.petrov");
+
+        assertThat(underTest.search("iva", 10)).containsExactly("Ivan");
+        assertThat(underTest.search("petrv", 10)).containsExactly("Petar");
+        assertThat(underTest.search("PETAR  petrov", 10)).containsExactly("Petar");
+        assertThat(underTest.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void closerMatchesShouldRankFirst() {
+        underTest.put(1L, "Ivanka", "Ivanka Ivanova", "ivanka");
+        underTest.put(2L, "Ivan", "Ivan Ivanov", "ivan");
+        underTest.put(3L, "Ivo", "Ivo Ivov", "ivo");
+
+        assertThat(underTest.search("ivan ivanov", 10)).startsWith("Ivan", "Ivanka");
+        assertThat(underTest.search("ivan", 1)).containsExactly("Ivan");
+    }
+
+    @Test
+    void emailsAndAccentsShouldBeSearchable() {
+        underTest.put(1L, "Zoe", "Zoë Émile", "z.emile");
+
+        assertThat(underTest.search("zoe emile", 10)).containsExactly("Zoe");
+        assertThat(underTest.search("z.emile", 10)).containsExactly("Zoe");
+    }
+
+    @Test
+    void replacedAndRemovedEntriesShouldNotMatch() {
+        underTest.put(1L, "old", "Ivan Ivanov");
+        underTest.put(1L, "new", "Georgi Georgiev");
+        assertThat(underTest.search("ivanov", 10)).isEmpty();
+        assertThat(underTest.search("georgiev", 10)).containsExactly("new");
+
+        underTest.remove(1L);
+        assertThat(underTest.search("georgiev", 10)).isEmpty();
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    void compactionShouldKeepLiveEntries() {
+        for (long id = 0; id < 5000; id++) {
+            underTest.put(id, "student" + id, "Student Number" + id);
+        }
+        for (long id = 0; id < 4990; id++) {
+            underTest.remove(id);
+        }
+
+        List<String> results = underTest.search("number4995", 10);
+        assertThat(results.getFirst()).isEqualTo("student4995");
+        assertThat(underTest.size()).isEqualTo(10);
+    }
+
+    @Test
+    void queriesTouchingManyEntriesShouldCountEachOne() {
+        for (long id = 0; id < 3000; id++) {
+            underTest.put(id, "student" + id, "Student Number" + id, "student" + id + "@school.bg");
+        }
+
+        assertThat(underTest.search("student number2999", 3)).startsWith("student2999");
+        assertThat(underTest.search("student", 5000)).hasSize(3000);
+    }
+}
@@ -0,0 +1,129 @@
+package com.gotinite.course_management.services;
+
+import com.gotinite.course_management.cache.NaturalKeyCache;
+import com.gotinite.course_management.cache.TranscriptCache;
+import com.gotinite.course_management.dtos.GradeOutcome;
+import com.gotinite.course_management.dtos.GradeSubmissionView;
+import com.gotinite.course_management.dtos.SubmissionStatus;
+import com.gotinite.course_management.ranking.GradeRankIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// the writer commits on its own thread, so the fixtures are inserted and removed here
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({GradeSubmissionService.class, GradeService.class, NaturalKeyCache.class,
+        TranscriptCache.class, GradeRankIndex.class})
+@TestPropertySource(properties = {
+        "grades.write-behind.enabled=true",
+        "grades.write-behind.linger=5ms"
+})
+class GradeSubmissionServiceTest {
+
+    private static final long ID = 910L;
+    private static final int STUDENTS = 120;
+
+    // a fresh journal per run, so nothing left by an aborted run is replayed into the fixtures
+    @TempDir
+    private static Path directory;
+
+    @Autowired
+    private GradeSubmissionService gradeSubmissionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) {
+        registry.add("grades.write-behind.journal", () -> directory.resolve("grades.journal"));
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO teachers (id, first_name, last_name, email) VALUES (?, ?, ?, ?)",
+                ID, "Burst", "Grader", "burst.grader@example.com");
+        jdbcTemplate.update("INSERT INTO courses (id, name, status, teacher_id) VALUES (?, ?, ?, ?)",
+                ID, "Final Exam", 1, ID);
+        jdbcTemplate.update("INSERT INTO course_grade_stats (course_id, grade_count, grade_sum, grade_sum_of_squares, " +
+                "grades_2, grades_3, grades_4, grades_5, grades_6) VALUES (?, 0, 0, 0, 0, 0, 0, 0, 0)", ID);
+        for (long i = 0; i < STUDENTS; i++) {
+            jdbcTemplate.update("INSERT INTO students (id, first_name, last_name, email) VALUES (?, ?, ?, ?)",
+                    ID + i, "Student", "No" + i, "student" + i + "@example.com");
+            // the last student never enrolled
+            if (i < STUDENTS - 1) {
+                jdbcTemplate.update("INSERT INTO enrollments (id, status, course_id, student_id) VALUES (?, ?, ?, ?)",
+                        ID + i, 1, ID, ID + i);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM grades WHERE course_id = ?", ID);
+        jdbcTemplate.update("DELETE FROM enrollments WHERE course_id = ?", ID);
+        jdbcTemplate.update("DELETE FROM course_grade_stats WHERE course_id = ?", ID);
+        jdbcTemplate.update("DELETE FROM students WHERE id >= ? AND id < ?", ID, ID + STUDENTS);
+        jdbcTemplate.update("DELETE FROM courses WHERE id = ?", ID);
+        jdbcTemplate.update("DELETE FROM teachers WHERE id = ?", ID);
+    }
+
+    @Test
+    void submittedGradesShouldBeWrittenInBatches() throws Exception {
+        List<GradeSubmissionView> submissions = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            submissions.add(gradeSubmissionService.submitGrade("student" + i + "@example.com", "Final Exam",
+                    "burst.grader@example.com", 2.0 + i % 5));
+        }
+        GradeSubmissionView duplicate = gradeSubmissionService.submitGrade("student0@example.com", "Final Exam",
+                "burst.grader@example.com", 6.0);
+        assertThat(submissions.getFirst().status()).isEqualTo(SubmissionStatus.QUEUED);
+
+        GradeSubmissionView last = awaitCompletion(duplicate.id());
+        assertThat(last.outcome()).isEqualTo(GradeOutcome.DUPLICATE);
+        assertThat(awaitCompletion(submissions.getFirst().id()).outcome()).isEqualTo(GradeOutcome.CREATED);
+        assertThat(awaitCompletion(submissions.getLast().id()).outcome()).isEqualTo(GradeOutcome.NOT_ENROLLED);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM grades WHERE course_id = ?", Long.class, ID))
+                .isEqualTo(STUDENTS - 1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT grade_count FROM course_grade_stats WHERE course_id = ?",
+                Long.class, ID)).isEqualTo(STUDENTS - 1L);
+    }
+
+    @Test
+    void invalidSubmissionsShouldBeRejectedBeforeTheJournal() {
+        assertThatThrownBy(() -> gradeSubmissionService.submitGrade("student0@example.com", "Final Exam",
+                "burst.grader@example.com", 7.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Incorrect value for grade!");
+        assertThatThrownBy(() -> gradeSubmissionService.submitGrade("nobody@example.com", "Final Exam",
+                "burst.grader@example.com", 5.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Student not found!");
+    }
+
+    private GradeSubmissionView awaitCompletion(Long id) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            GradeSubmissionView submission = gradeSubmissionService.getSubmission(id).orElseThrow();
+            if (submission.status() == SubmissionStatus.COMPLETED) return submission;
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Submission " + id + " was not written");
+    }
+}
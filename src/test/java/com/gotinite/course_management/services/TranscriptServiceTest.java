@@ -0,0 +1,62 @@
+package com.gotinite.course_management.services;
+
+import com.gotinite.course_management.cache.NaturalKeyCache;
+import com.gotinite.course_management.cache.TranscriptCache;
+import com.gotinite.course_management.dtos.CourseDto;
+import com.gotinite.course_management.dtos.TranscriptView;
+import com.gotinite.course_management.mappers.CourseMapperImpl;
+import com.gotinite.course_management.repositories.TableStatisticsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({TranscriptService.class, CourseService.class, CourseMapperImpl.class, TableStatisticsRepository.class,
+        NaturalKeyCache.class, TranscriptCache.class, FanOutExecutor.class})
+@Sql({
+        "/sql/data.sql"
+})
+class TranscriptServiceTest {
+
+    @Autowired
+    private TranscriptService transcriptService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void courseCreditsShouldWeightTheAverage() {
+        jdbcTemplate.update("INSERT INTO grades(id, grade_value, student_id, course_id, teacher_id, graded_at) " +
+                "VALUES (2, 3, 1, 2, 1, TIMESTAMP WITH TIME ZONE '2026-03-16 10:00:00+00')");
+
+        TranscriptView equalCredits = transcriptService.getByStudent("ivan.ivanov@example.com");
+        assertThat(equalCredits.gpa()).isEqualTo(4.0);
+        assertThat(equalCredits.weightedAverage()).isEqualTo(4.0);
+
+        // Math (5) keeps one credit, Physics (3) now counts three times: (5 + 3 * 3) / 4
+        courseService.updateCourseCredits(3, new CourseDto("Physics", null));
+        TranscriptView weighted = transcriptService.getByStudent("ivan.ivanov@example.com");
+        assertThat(weighted.gpa()).isEqualTo(4.0);
+        assertThat(weighted.credits()).isEqualTo(4L);
+        assertThat(weighted.weightedAverage()).isEqualTo(3.5);
+    }
+
+    @Test
+    void nonPositiveCreditsShouldBeRejected() {
+        assertThatThrownBy(() -> courseService.updateCourseCredits(0, new CourseDto("Physics", null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The credits must be positive!");
+        assertThatThrownBy(() -> courseService.createCourse(new CourseDto("Databases", "ACTIVE", -2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The credits must be positive!");
+    }
+}
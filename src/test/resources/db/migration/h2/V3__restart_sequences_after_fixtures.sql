@@ -0,0 +1,6 @@
+-- Fixtures in sql/data.sql use explicit ids below 1000.
+ALTER SEQUENCE teachers_seq RESTART WITH 1000;
+ALTER SEQUENCE courses_seq RESTART WITH 1000;
+ALTER SEQUENCE students_seq RESTART WITH 1000;
+ALTER SEQUENCE enrollments_seq RESTART WITH 1000;
+ALTER SEQUENCE grades_seq RESTART WITH 1000;
@@ -1,76 +1,31 @@
-CREATE TABLE IF NOT EXISTS teachers (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    first_name VARCHAR(255) NOT NULL,
-    last_name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) NOT NULL UNIQUE
-);
-
-INSERT INTO teachers(first_name, last_name, email)
-VALUES ('Angel', 'Angelov', 'angel.angelov@example.com'),
-       ('Alex', 'Aleksandrov', 'alex.aleksandrov@example.com');
-
-CREATE TABLE IF NOT EXISTS courses (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    name VARCHAR(255) NOT NULL UNIQUE,
-    status VARCHAR(255) NOT NULL,
-    teacher_id BIGINT NOT NULL,
-    FOREIGN KEY (teacher_id) REFERENCES teachers(id)
-);
-
-INSERT INTO courses(name, status, teacher_id)
-VALUES ('Math', 'ACTIVE', 1),
-       ('Physics', 'PENDING', 1),
-       ('Java Basics', 'PENDING', 2);
-
-CREATE TABLE IF NOT EXISTS students (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    first_name VARCHAR(255) NOT NULL,
-    last_name VARCHAR(255) NOT NULL,
-    email VARCHAR(255) NOT NULL UNIQUE
-);
-
-INSERT INTO students(first_name, last_name, email)
-VALUES ('Ivan', 'Ivanov', 'ivan.ivanov@example.com'),
-       ('Petar', 'Petrov', 'petar.petrov@example.com');
-
-CREATE TABLE IF NOT EXISTS enrollments (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    status VARCHAR(255) NOT NULL,
-    course_id BIGINT NOT NULL,
-    student_id BIGINT NOT NULL,
-    FOREIGN KEY (course_id) REFERENCES courses(id),
-    FOREIGN KEY (student_id) REFERENCES students(id)
-);
-
-INSERT INTO enrollments(status, course_id, student_id)
-VALUES ('Successful', 1, 1),
-       ('Unsuccessful', 2, 1),
-       ('Unsuccessful', 2, 2);
-
-CREATE TABLE IF NOT EXISTS student_courses(
-    student_id BIGINT NOT NULL,
-    course_id BIGINT NOT NULL,
-    PRIMARY KEY (student_id, course_id),
-    FOREIGN KEY (student_id) REFERENCES students(id),
-    FOREIGN KEY (course_id) REFERENCES courses(id)
-);
-
-INSERT INTO student_courses(student_id, course_id)
-VALUES (1, 1),
-       (1, 2),
-       (2, 2);
-
-CREATE TABLE IF NOT EXISTS grades(
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    grade_value DOUBLE NOT NULL,
-    student_id BIGINT NOT NULL,
-    course_id BIGINT NOT NULL,
-    teacher_id BIGINT NOT NULL,
-    FOREIGN KEY (student_id) REFERENCES students(id),
-    FOREIGN KEY (course_id) REFERENCES courses(id),
-    FOREIGN KEY (teacher_id) REFERENCES teachers(id)
-);
-
-INSERT INTO grades(grade_value, student_id, course_id, teacher_id)
-VALUES (5, 1, 1, 1);
-
+INSERT INTO teachers(id, first_name, last_name, email)
+VALUES (1, 'Angel', 'Angelov', 'angel.angelov@example.com'),
+       (2, 'Alex', 'Aleksandrov', 'alex.aleksandrov@example.com');
+
+INSERT INTO courses(id, name, status, teacher_id, seats_taken)
+VALUES (1, 'Math', 1, 1, 1),
+       (2, 'Physics', 2, 1, 2),
+       (3, 'Java Basics', 2, 2, 0);
+
+INSERT INTO students(id, first_name, last_name, email)
+VALUES (1, 'Ivan', 'Ivanov', 'ivan.ivanov@example.com'),
+       (2, 'Petar', 'Petrov', 'petar.petrov@example.com');
+
+INSERT INTO enrollments(id, status, course_id, student_id)
+VALUES (1, 3, 1, 1),
+       (2, 4, 2, 1),
+       (3, 4, 2, 2);
+
+INSERT INTO grades(id, grade_value, student_id, course_id, teacher_id)
+VALUES (1, 5, 1, 1, 1);
+
+INSERT INTO course_grade_stats(course_id, grade_count, grade_sum, grade_sum_of_squares, min_grade, max_grade,
+                               grades_2, grades_3, grades_4, grades_5, grades_6)
+VALUES (1, 1, 5, 25, 5, 5, 0, 0, 0, 1, 0),
+       (2, 0, 0, 0, NULL, NULL, 0, 0, 0, 0, 0),
+       (3, 0, 0, 0, NULL, NULL, 0, 0, 0, 0, 0);
+
+INSERT INTO course_enrollment_stats(course_id, active_count, completed_count, successful_count, unsuccessful_count)
+VALUES (1, 0, 0, 1, 0),
+       (2, 0, 0, 0, 2),
+       (3, 0, 0, 0, 0);